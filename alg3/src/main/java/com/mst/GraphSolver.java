@@ -0,0 +1,505 @@
+package com.mst;
+
+import com.mst.algorithms.AlgorithmPlanner;
+import com.mst.algorithms.DoubleKruskalAlgorithm;
+import com.mst.algorithms.DoubleMSTResult;
+import com.mst.algorithms.DoublePrimAlgorithm;
+import com.mst.algorithms.EuclideanMSTAlgorithm;
+import com.mst.algorithms.HybridMSTAlgorithm;
+import com.mst.algorithms.KruskalAlgorithm;
+import com.mst.algorithms.LongKruskalAlgorithm;
+import com.mst.algorithms.LongMSTResult;
+import com.mst.algorithms.LongPrimAlgorithm;
+import com.mst.algorithms.MSTResult;
+import com.mst.algorithms.MSTVerifier;
+import com.mst.algorithms.MultigraphReducer;
+import com.mst.algorithms.PrimAlgorithm;
+import com.mst.algorithms.SensitivityAnalyzer;
+import com.mst.algorithms.SolverWorkspace;
+import com.mst.algorithms.SpanningTreeResult;
+import com.mst.distributed.BoruvkaCoordinator;
+import com.mst.graph.DoubleGraph;
+import com.mst.graph.Graph;
+import com.mst.graph.LongGraph;
+import com.mst.graph.PointSet;
+import com.mst.io.JSONParser;
+import com.mst.io.JSONWriter;
+import com.mst.profiling.BenchmarkRunner;
+import com.mst.profiling.ConnectivityEvent;
+import com.mst.profiling.SolveEvent;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Solves input graphs according to the selected run mode
+ */
+public class GraphSolver {
+
+    /**
+     * How many engines are run per graph
+     */
+    public enum Mode {
+        /** Run only the engine chosen by the planner */
+        PRODUCTION,
+        /** Run both Prim and Kruskal and check each tree with MSTVerifier */
+        VERIFY
+    }
+
+    private final Mode mode;
+    private final AlgorithmPlanner planner;
+    // Server workers solve many graphs each, so every thread keeps its own workspace
+    private final ThreadLocal<SolverWorkspace> workspaces = ThreadLocal.withInitial(SolverWorkspace::new);
+    private boolean sensitivity;
+    private BoruvkaCoordinator coordinator;
+    private boolean dedup;
+    private BenchmarkRunner benchmark;
+    private Integer hybridRounds;
+
+    public GraphSolver(Mode mode, AlgorithmPlanner planner) {
+        this.mode = mode;
+        this.planner = planner;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Also compute per-edge weight tolerances of int-weighted graphs
+     */
+    public void setSensitivity(boolean sensitivity) {
+        this.sensitivity = sensitivity;
+    }
+
+    /**
+     * Collapse parallel edges and drop self-loops of int-weighted graphs before solving
+     */
+    public void setDedup(boolean dedup) {
+        this.dedup = dedup;
+    }
+
+    /**
+     * Also run the hybrid contraction engine on int-weighted graphs with the given number
+     * of rounds (HybridMSTAlgorithm.AUTO_ROUNDS to size them per graph); null disables it
+     */
+    public void setHybridRounds(Integer hybridRounds) {
+        this.hybridRounds = hybridRounds;
+    }
+
+    /**
+     * Time every engine over repeated runs instead of once; null restores single runs
+     */
+    public void setBenchmark(BenchmarkRunner benchmark) {
+        this.benchmark = benchmark;
+    }
+
+    /**
+     * Solve int-weighted graphs on the coordinator's worker processes instead of in this JVM
+     */
+    public void setCoordinator(BoruvkaCoordinator coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    /**
+     * Solve one input graph, logging progress to the given stream when it is not null.
+     * Returns null for graphs that are not connected.
+     */
+    public JSONWriter.ResultData solve(JSONParser.GraphData graphData, PrintStream log) {
+        if (log != null) {
+            log.println("\n=== Processing Graph " + graphData.getId() + " ===");
+        }
+
+        // Point sets are solved directly, without building the complete graph
+        if (graphData.isPointSet()) {
+            PointSet points = graphData.getPoints();
+            if (log != null) {
+                log.println("Points: " + points.size());
+                log.println("\nRunning Euclidean MST...");
+            }
+
+            Map<String, BenchmarkRunner.Report> timings = new HashMap<>();
+            DoubleMSTResult euclideanResult = runEngine(graphData, "euclidean",
+                    () -> new EuclideanMSTAlgorithm().findMST(points), timings);
+            if (log != null) {
+                log.println(euclideanResult);
+            }
+
+            Map<String, SpanningTreeResult> algorithmResults = new LinkedHashMap<>();
+            algorithmResults.put("euclidean", euclideanResult);
+            JSONWriter.ResultData resultData = new JSONWriter.ResultData(
+                    graphData.getId(), points.size(), 0, algorithmResults);
+            resultData.setGraphBytes(points.estimateRetainedBytes());
+            timings.forEach(resultData::setTiming);
+            return resultData;
+        }
+
+        if (graphData.getWeightType() != JSONParser.GraphData.WeightType.INT) {
+            return solveWide(graphData, log);
+        }
+
+        Graph graph = graphData.getGraph();
+        if (log != null) {
+            log.println("Vertices: " + graph.getVertexCount());
+            log.println("Edges: " + graph.getEdgeCount());
+        }
+
+        if (!dedup) {
+            JSONWriter.ResultData resultData = solveGraph(graphData, graph, graph, log);
+            if (resultData != null) {
+                // Estimated after solving, so the indexed view the engines built is counted
+                resultData.setGraphBytes(graph.estimateRetainedBytes());
+            }
+            return resultData;
+        }
+
+        // Solve the reduced simple graph; an MST of it is an MST of the multigraph. Tolerances
+        // still come from the multigraph, whose dropped parallel edges bound the tree edges too
+        MultigraphReducer.Report reduction = new MultigraphReducer().reduce(graph);
+        if (log != null) {
+            log.println(reduction);
+        }
+        JSONWriter.ResultData resultData = solveGraph(graphData, reduction.getGraph(), graph, log);
+        if (resultData != null) {
+            resultData.setGraphBytes(reduction.getGraph().estimateRetainedBytes());
+            resultData.setReduction(reduction);
+        }
+        return resultData;
+    }
+
+    /**
+     * Solve an int-weighted graph with the engines of the run mode. Sensitivity is
+     * analyzed on the input graph, of which the solved graph may be a reduction.
+     */
+    private JSONWriter.ResultData solveGraph(JSONParser.GraphData graphData, Graph graph, Graph input,
+                                             PrintStream log) {
+        // Check connectivity
+        if (!checkConnected(graphData, graph::isConnected)) {
+            if (log != null) {
+                log.println("WARNING: Graph is not connected!");
+            }
+            return null;
+        }
+
+        if (coordinator != null) {
+            return solveDistributed(graphData, graph, input, log);
+        }
+
+        if (mode == Mode.PRODUCTION) {
+            return solveWithPlan(graphData, graph, input, log);
+        }
+
+        // Run Prim's algorithm
+        if (log != null) {
+            log.println("\nRunning Prim's Algorithm...");
+        }
+        Map<String, BenchmarkRunner.Report> timings = new HashMap<>();
+        PrimAlgorithm prim = new PrimAlgorithm();
+        MSTResult primResult = runEngine(graphData, "prim", () -> prim.findMST(graph, workspaces.get()), timings);
+        if (log != null) {
+            log.println(primResult);
+        }
+
+        // Run Kruskal's algorithm
+        if (log != null) {
+            log.println("Running Kruskal's Algorithm...");
+        }
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        MSTResult kruskalResult = runEngine(graphData, "kruskal",
+                () -> kruskal.findMST(graph, workspaces.get()), timings);
+        if (log != null) {
+            log.println(kruskalResult);
+        }
+
+        // Verify both trees; equal costs alone would miss a wrong tree of the same cost
+        MSTVerifier.Report primReport = verify(graphData, graph, "prim", primResult, log);
+        MSTVerifier.Report kruskalReport = verify(graphData, graph, "kruskal", kruskalResult, log);
+        if (primReport.isValid() && kruskalReport.isValid() && log != null) {
+            log.println("✓ Both algorithms produced verified trees of total cost: " +
+                    primResult.getTotalCost());
+        }
+
+        // Store results
+        JSONWriter.ResultData resultData = new JSONWriter.ResultData(
+                graphData.getId(),
+                graphData.getVertexCount(),
+                graphData.getEdgeCount(),
+                primResult,
+                kruskalResult
+        );
+        resultData.setVerification("prim", primReport);
+        resultData.setVerification("kruskal", kruskalReport);
+        runHybrid(graphData, graph, resultData, timings, log);
+        timings.forEach(resultData::setTiming);
+        analyzeSensitivity(input, kruskalResult, resultData, log);
+        return resultData;
+    }
+
+    private JSONWriter.ResultData solveWithPlan(JSONParser.GraphData graphData, Graph graph, Graph input,
+                                                PrintStream log) {
+        AlgorithmPlanner.Plan plan = planner.plan(graph);
+        if (log != null) {
+            log.println(plan);
+        }
+
+        AlgorithmPlanner.Engine engine = plan.getEngine();
+        Map<String, BenchmarkRunner.Report> timings = new HashMap<>();
+        MSTResult result = runEngine(graphData, engine.key(), () -> engine.run(graph, workspaces.get()), timings);
+        if (log != null) {
+            log.println(result);
+        }
+
+        // The single engine is not cross-checked by a second one, so its tree is always verified
+        MSTVerifier.Report report = verify(graphData, graph, engine.key(), result, log);
+
+        Map<String, SpanningTreeResult> algorithmResults = new LinkedHashMap<>();
+        algorithmResults.put(engine.key(), result);
+
+        JSONWriter.ResultData resultData = new JSONWriter.ResultData(
+                graphData.getId(), graphData.getVertexCount(), graphData.getEdgeCount(), algorithmResults);
+        resultData.setPlan(plan);
+        resultData.setVerification(engine.key(), report);
+        runHybrid(graphData, graph, resultData, timings, log);
+        timings.forEach(resultData::setTiming);
+        analyzeSensitivity(input, result, resultData, log);
+        return resultData;
+    }
+
+    private JSONWriter.ResultData solveDistributed(JSONParser.GraphData graphData, Graph graph, Graph input,
+                                                   PrintStream log) {
+        if (log != null) {
+            log.println("\nRunning distributed Boruvka on " + coordinator.getWorkerCount() + " workers...");
+        }
+
+        List<BoruvkaCoordinator.RoundStats> rounds = new ArrayList<>();
+        Map<String, BenchmarkRunner.Report> timings = new HashMap<>();
+        MSTResult result = runEngine(graphData, "distributed_boruvka", () -> {
+            // Only the rounds of the run whose result is kept are reported
+            rounds.clear();
+            try {
+                return coordinator.findMST(graph, rounds);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Distributed solve of graph " + graphData.getId() + " failed", e);
+            }
+        }, timings);
+        if (log != null) {
+            for (BoruvkaCoordinator.RoundStats round : rounds) {
+                log.println("  " + round);
+            }
+            log.println(result);
+        }
+
+        // Trees assembled from worker reports are verified against the full graph
+        MSTVerifier.Report report = verify(graphData, graph, "distributed_boruvka", result, log);
+
+        Map<String, SpanningTreeResult> algorithmResults = new LinkedHashMap<>();
+        algorithmResults.put("distributed_boruvka", result);
+
+        JSONWriter.ResultData resultData = new JSONWriter.ResultData(
+                graphData.getId(), graphData.getVertexCount(), graphData.getEdgeCount(), algorithmResults);
+        resultData.setVerification("distributed_boruvka", report);
+        resultData.setDistribution(coordinator.getWorkerCount(), rounds);
+        timings.forEach(resultData::setTiming);
+        analyzeSensitivity(input, result, resultData, log);
+        return resultData;
+    }
+
+    /**
+     * Run and verify the hybrid engine next to the mode's own engines, when enabled
+     */
+    private void runHybrid(JSONParser.GraphData graphData, Graph graph, JSONWriter.ResultData resultData,
+                           Map<String, BenchmarkRunner.Report> timings, PrintStream log) {
+        if (hybridRounds == null) {
+            return;
+        }
+        if (log != null) {
+            log.println("Running Hybrid Boruvka-Prim...");
+        }
+        HybridMSTAlgorithm hybrid = new HybridMSTAlgorithm(hybridRounds);
+        MSTResult result = runEngine(graphData, "hybrid", () -> hybrid.findMST(graph, workspaces.get()), timings);
+        if (log != null) {
+            log.println("Contracted to " + hybrid.getContractedVertexCount() + " vertices and "
+                    + hybrid.getContractedEdgeCount() + " edges in " + hybrid.getContractionRounds() + " rounds");
+            log.println(result);
+        }
+
+        resultData.addAlgorithmResult("hybrid", result);
+        resultData.setVerification("hybrid", verify(graphData, graph, "hybrid", result, log));
+    }
+
+    private void analyzeSensitivity(Graph graph, MSTResult result, JSONWriter.ResultData resultData,
+                                    PrintStream log) {
+        if (!sensitivity) {
+            return;
+        }
+        SensitivityAnalyzer.Report report = new SensitivityAnalyzer().analyze(graph, result);
+        if (log != null) {
+            log.println("Sensitivity of " + report.getEdgeCount() + " edges computed in " +
+                    String.format("%.2f", report.getExecutionTimeMs()) + " ms");
+        }
+        resultData.setSensitivity(report);
+    }
+
+    /**
+     * Check that an engine's tree is an MST of the graph, reporting failures on stderr
+     */
+    private static MSTVerifier.Report verify(JSONParser.GraphData graphData, Graph graph, String engine,
+                                             MSTResult result, PrintStream log) {
+        MSTVerifier.Report report = new MSTVerifier().verify(graph, result);
+        if (!report.isValid()) {
+            System.err.println("✗ ERROR: " + engine + " produced a wrong tree for graph " +
+                    graphData.getId() + ": " + report.getFailure());
+        } else if (log != null) {
+            log.println(report);
+        }
+        return report;
+    }
+
+    /**
+     * Solve a long- or double-weighted graph with the specialized Prim and Kruskal engines.
+     * Production mode runs whichever of the two the planner estimates to be cheaper.
+     */
+    private JSONWriter.ResultData solveWide(JSONParser.GraphData graphData, PrintStream log) {
+        boolean isLong = graphData.getWeightType() == JSONParser.GraphData.WeightType.LONG;
+        LongGraph longGraph = graphData.getLongGraph();
+        DoubleGraph doubleGraph = graphData.getDoubleGraph();
+        int vertexCount = isLong ? longGraph.getVertexCount() : doubleGraph.getVertexCount();
+        int edgeCount = isLong ? longGraph.getEdgeCount() : doubleGraph.getEdgeCount();
+
+        if (log != null) {
+            log.println("Vertices: " + vertexCount);
+            log.println("Edges: " + edgeCount);
+            log.println("Weights: " + graphData.getWeightType());
+        }
+
+        // Check connectivity
+        if (!checkConnected(graphData, isLong ? longGraph::isConnected : doubleGraph::isConnected)) {
+            if (log != null) {
+                log.println("WARNING: Graph is not connected!");
+            }
+            return null;
+        }
+
+        boolean runPrim = true;
+        boolean runKruskal = true;
+        if (mode == Mode.PRODUCTION) {
+            runPrim = planner.estimateMs(AlgorithmPlanner.Engine.PRIM, vertexCount, edgeCount)
+                    <= planner.estimateMs(AlgorithmPlanner.Engine.KRUSKAL, vertexCount, edgeCount);
+            runKruskal = !runPrim;
+        }
+
+        Map<String, SpanningTreeResult> algorithmResults = new LinkedHashMap<>();
+        Map<String, BenchmarkRunner.Report> timings = new HashMap<>();
+        if (runPrim) {
+            if (log != null) {
+                log.println("\nRunning Prim's Algorithm...");
+            }
+            SpanningTreeResult primResult = runEngine(graphData, "prim", () -> isLong
+                    ? new LongPrimAlgorithm().findMST(longGraph)
+                    : new DoublePrimAlgorithm().findMST(doubleGraph), timings);
+            if (log != null) {
+                log.println(primResult);
+            }
+            algorithmResults.put("prim", primResult);
+        }
+        if (runKruskal) {
+            if (log != null) {
+                log.println("Running Kruskal's Algorithm...");
+            }
+            SpanningTreeResult kruskalResult = runEngine(graphData, "kruskal", () -> isLong
+                    ? new LongKruskalAlgorithm().findMST(longGraph)
+                    : new DoubleKruskalAlgorithm().findMST(doubleGraph), timings);
+            if (log != null) {
+                log.println(kruskalResult);
+            }
+            algorithmResults.put("kruskal", kruskalResult);
+        }
+
+        // Verify results match
+        if (runPrim && runKruskal) {
+            boolean same = isLong
+                    ? ((LongMSTResult) algorithmResults.get("prim")).getTotalCost()
+                            == ((LongMSTResult) algorithmResults.get("kruskal")).getTotalCost()
+                    : sameCost(((DoubleMSTResult) algorithmResults.get("prim")).getTotalCost(),
+                            ((DoubleMSTResult) algorithmResults.get("kruskal")).getTotalCost());
+            if (!same) {
+                System.err.println("✗ ERROR: Algorithms produced different costs for graph " +
+                        graphData.getId() + "!");
+            } else if (log != null) {
+                log.println("✓ Both algorithms produced same total cost: " +
+                        algorithmResults.get("prim").getTotalCostText());
+            }
+        }
+
+        JSONWriter.ResultData resultData = new JSONWriter.ResultData(
+                graphData.getId(), vertexCount, edgeCount, algorithmResults);
+        resultData.setGraphBytes(isLong ? longGraph.estimateRetainedBytes() : doubleGraph.estimateRetainedBytes());
+        timings.forEach(resultData::setTiming);
+        return resultData;
+    }
+
+    /**
+     * Double totals depend on summation order, so compare them with a relative tolerance
+     */
+    private static boolean sameCost(double a, double b) {
+        return Math.abs(a - b) <= 1e-9 * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    /**
+     * Run a connectivity check, recorded as a JFR event when a recording is running
+     */
+    private static boolean checkConnected(JSONParser.GraphData graphData, BooleanSupplier check) {
+        ConnectivityEvent event = new ConnectivityEvent();
+        event.begin();
+        boolean connected = check.getAsBoolean();
+        event.end();
+        if (event.shouldCommit()) {
+            event.graphId = graphData.getId();
+            event.vertices = graphData.getVertexCount();
+            event.edges = graphData.getEdgeCount();
+            event.connected = connected;
+            event.commit();
+        }
+        return connected;
+    }
+
+    /**
+     * Run one engine, or time it over repeated runs when benchmarking, adding its
+     * timing report to the given map. The kept result is that of the last run.
+     */
+    private <T extends SpanningTreeResult> T runEngine(JSONParser.GraphData graphData, String engine,
+                                                       Supplier<T> run,
+                                                       Map<String, BenchmarkRunner.Report> timings) {
+        if (benchmark == null) {
+            return recordSolve(graphData, engine, run);
+        }
+        List<BenchmarkRunner.Report> reports = new ArrayList<>(1);
+        T result = benchmark.run(() -> recordSolve(graphData, engine, run), reports);
+        timings.put(engine, reports.get(0));
+        return result;
+    }
+
+    /**
+     * Run one engine once, recorded as a JFR event when a recording is running
+     */
+    private static <T extends SpanningTreeResult> T recordSolve(JSONParser.GraphData graphData, String engine,
+                                                                 Supplier<T> run) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        T result = run.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.graphId = graphData.getId();
+            event.vertices = graphData.getVertexCount();
+            event.edges = graphData.getEdgeCount();
+            event.engine = engine;
+            event.operations = result.getOperationsCount();
+            event.commit();
+        }
+        return result;
+    }
+}
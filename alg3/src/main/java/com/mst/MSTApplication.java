@@ -1,75 +1,191 @@
 package com.mst;
 
-import com.mst.algorithms.KruskalAlgorithm;
-import com.mst.algorithms.MSTResult;
-import com.mst.algorithms.PrimAlgorithm;
+import com.mst.algorithms.AlgorithmPlanner;
+import com.mst.algorithms.HybridMSTAlgorithm;
+import com.mst.distributed.BoruvkaCoordinator;
+import com.mst.io.EdgeListReader;
 import com.mst.io.JSONParser;
 import com.mst.io.JSONWriter;
-import com.mst.graph.Graph;
+import com.mst.io.OutputFormat;
+import com.mst.io.ResultSink;
+import com.mst.pipeline.SolvePipeline;
+import com.mst.pipeline.StageMetrics;
+import com.mst.profiling.BenchmarkRunner;
+import com.mst.profiling.PhaseRecording;
+import com.mst.server.MSTServer;
+import jdk.jfr.Recording;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
  * Main application for MST computation
  */
 public class MSTApplication {
+    private static final int CALIBRATION_SAMPLES = 40;
+    private static final int PIPELINE_QUEUE_CAPACITY = 16;
+    private static final int BENCHMARK_ITERATIONS = 20;
+    private static final int BENCHMARK_WARMUP = 10;
 
     public static void main(String[] args) {
         try {
-            String inputFile = args.length > 0 ? args[0] : "src/main/resources/input.json";
-            String outputFile = args.length > 1 ? args[1] : "src/main/resources/output.json";
+            List<String> positional = new ArrayList<>();
+            Integer servePort = null;
+            GraphSolver.Mode mode = GraphSolver.Mode.VERIFY;
+            boolean calibrate = false;
+            String jfrFile = null;
+            boolean sensitivity = false;
+            boolean dedup = false;
+            Integer hybridRounds = null;
+            OutputFormat format = OutputFormat.JSON;
+            boolean compress = false;
+            Integer benchmarkIterations = null;
+            int benchmarkWarmup = BENCHMARK_WARMUP;
+            boolean benchmarkGc = false;
+            Integer pipelineWorkers = null;
+            Integer spawnWorkers = null;
+            List<InetSocketAddress> workerAddresses = new ArrayList<>();
 
-            System.out.println("Reading input from: " + inputFile);
-            List<JSONParser.GraphData> graphDataList = JSONParser.parseInputFile(inputFile);
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--serve")) {
+                    boolean hasPort = i + 1 < args.length && !args[i + 1].startsWith("--");
+                    servePort = hasPort ? Integer.parseInt(args[++i]) : MSTServer.DEFAULT_PORT;
+                } else if (args[i].equals("--mode")) {
+                    mode = GraphSolver.Mode.valueOf(args[++i].toUpperCase());
+                } else if (args[i].equals("--calibrate")) {
+                    calibrate = true;
+                } else if (args[i].equals("--sensitivity")) {
+                    sensitivity = true;
+                } else if (args[i].equals("--dedup")) {
+                    dedup = true;
+                } else if (args[i].equals("--hybrid")) {
+                    boolean hasRounds = i + 1 < args.length && args[i + 1].matches("\\d+");
+                    hybridRounds = hasRounds ? Integer.parseInt(args[++i]) : HybridMSTAlgorithm.AUTO_ROUNDS;
+                } else if (args[i].equals("--benchmark")) {
+                    boolean hasIterations = i + 1 < args.length && args[i + 1].matches("\\d+");
+                    benchmarkIterations = hasIterations ? Integer.parseInt(args[++i]) : BENCHMARK_ITERATIONS;
+                } else if (args[i].equals("--warmup")) {
+                    benchmarkWarmup = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--gc")) {
+                    benchmarkGc = true;
+                } else if (args[i].equals("--format")) {
+                    format = OutputFormat.valueOf(args[++i].toUpperCase());
+                } else if (args[i].equals("--compress")) {
+                    compress = true;
+                } else if (args[i].equals("--pipeline")) {
+                    boolean hasWorkers = i + 1 < args.length && args[i + 1].matches("\\d+");
+                    // Leave a core each to the reader and the writer
+                    pipelineWorkers = hasWorkers ? Integer.parseInt(args[++i])
+                            : Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+                } else if (args[i].equals("--distributed")) {
+                    spawnWorkers = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--workers")) {
+                    for (String address : args[++i].split(",")) {
+                        int colon = address.lastIndexOf(':');
+                        workerAddresses.add(new InetSocketAddress(address.substring(0, colon),
+                                Integer.parseInt(address.substring(colon + 1))));
+                    }
+                } else if (args[i].equals("--jfr")) {
+                    jfrFile = args[++i];
+                } else {
+                    positional.add(args[i]);
+                }
+            }
+
+            // Phase events go to a flight recording; it is dumped when the run ends or the JVM exits
+            Recording recording = null;
+            if (jfrFile != null) {
+                recording = PhaseRecording.start(Path.of(jfrFile));
+                System.out.println("Recording phase events to: " + jfrFile);
+            }
 
-            List<JSONWriter.ResultData> results = new ArrayList<>();
+            AlgorithmPlanner planner = new AlgorithmPlanner();
+            if (calibrate) {
+                System.out.println("Calibrating algorithm planner...");
+                planner = AlgorithmPlanner.calibrate(CALIBRATION_SAMPLES, System.nanoTime());
+                System.out.println("Coefficients: " + Arrays.deepToString(planner.getCoefficients()));
+            }
+            GraphSolver solver = new GraphSolver(mode, planner);
+            solver.setSensitivity(sensitivity);
+            solver.setDedup(dedup);
+            solver.setHybridRounds(hybridRounds);
+            if (benchmarkIterations != null) {
+                // Every engine is warmed up and timed repeatedly; the last run's tree is reported
+                solver.setBenchmark(new BenchmarkRunner(benchmarkWarmup, benchmarkIterations, benchmarkGc));
+                System.out.println("Benchmarking: " + benchmarkWarmup + " warm-up and "
+                        + benchmarkIterations + " timed runs per engine" + (benchmarkGc ? ", GC before each" : ""));
+            }
 
-            for (JSONParser.GraphData graphData : graphDataList) {
-                System.out.println("\n=== Processing Graph " + graphData.getId() + " ===");
+            // Distributed mode solves int-weighted graphs on separate worker processes
+            BoruvkaCoordinator coordinator = null;
+            if (spawnWorkers != null) {
+                coordinator = BoruvkaCoordinator.spawnLocal(spawnWorkers);
+                System.out.println("Started " + spawnWorkers + " local Boruvka workers");
+            } else if (!workerAddresses.isEmpty()) {
+                coordinator = BoruvkaCoordinator.connect(workerAddresses);
+                System.out.println("Connected to Boruvka workers: " + workerAddresses);
+            }
+            solver.setCoordinator(coordinator);
+
+            // Server mode keeps one warm JVM alive across many requests
+            if (servePort != null) {
+                MSTServer server = new MSTServer(servePort, Runtime.getRuntime().availableProcessors(), solver);
+                server.warmUp();
+                server.start();
+                System.out.println("MST server listening on http://127.0.0.1:" + server.getPort() + "/mst");
+                Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+                return;
+            }
 
-                Graph graph = graphData.getGraph();
-                System.out.println("Vertices: " + graph.getVertexCount());
-                System.out.println("Edges: " + graph.getEdgeCount());
+            String inputFile = positional.size() > 0 ? positional.get(0) : "src/main/resources/input.json";
+            String outputFile = positional.size() > 1 ? positional.get(1) : "src/main/resources/output.json";
 
-                // Check connectivity
-                if (!graph.isConnected()) {
-                    System.out.println("WARNING: Graph is not connected!");
-                    continue;
+            if (pipelineWorkers != null) {
+                // Parse, solve and write overlap; graphs stream through instead of being loaded up front
+                System.out.println("Pipelining " + inputFile + " -> " + outputFile
+                        + " with " + pipelineWorkers + " solver threads");
+                SolvePipeline pipeline = new SolvePipeline(solver, pipelineWorkers, PIPELINE_QUEUE_CAPACITY);
+                pipeline.setOutputFormat(format, compress);
+                long startTime = System.nanoTime();
+                int written = pipeline.run(inputFile, outputFile);
+                double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+
+                System.out.println("Wrote " + written + " results in " + String.format("%.2f", elapsedMs) + " ms");
+                for (StageMetrics metrics : pipeline.getMetrics()) {
+                    System.out.println("  " + metrics);
                 }
+            } else {
+                System.out.println("Reading input from: " + inputFile);
+                List<JSONParser.GraphData> graphDataList = readInput(inputFile);
 
-                // Run Prim's algorithm
-                System.out.println("\nRunning Prim's Algorithm...");
-                PrimAlgorithm prim = new PrimAlgorithm();
-                MSTResult primResult = prim.findMST(graph);
-                System.out.println(primResult);
-
-                // Run Kruskal's algorithm
-                System.out.println("Running Kruskal's Algorithm...");
-                KruskalAlgorithm kruskal = new KruskalAlgorithm();
-                MSTResult kruskalResult = kruskal.findMST(graph);
-                System.out.println(kruskalResult);
-
-                // Verify results match
-                if (primResult.getTotalCost() == kruskalResult.getTotalCost()) {
-                    System.out.println("✓ Both algorithms produced same total cost: " +
-                            primResult.getTotalCost());
-                } else {
-                    System.out.println("✗ ERROR: Algorithms produced different costs!");
+                List<JSONWriter.ResultData> results = new ArrayList<>();
+
+                for (JSONParser.GraphData graphData : graphDataList) {
+                    JSONWriter.ResultData result = solver.solve(graphData, System.out);
+                    if (result != null) {
+                        results.add(result);
+                    }
                 }
 
-                // Store results
-                results.add(new JSONWriter.ResultData(
-                        graphData.getId(),
-                        graph.getVertexCount(),
-                        graph.getEdgeCount(),
-                        primResult,
-                        kruskalResult
-                ));
+                // Write results to file
+                System.out.println("\nWriting results to: " + outputFile);
+                try (ResultSink sink = format.open(outputFile, compress)) {
+                    for (JSONWriter.ResultData result : results) {
+                        sink.write(result);
+                    }
+                    sink.finish();
+                }
             }
 
-            // Write results to file
-            System.out.println("\nWriting results to: " + outputFile);
-            JSONWriter.writeResults(outputFile, results);
+            if (coordinator != null) {
+                coordinator.close();
+            }
+            if (recording != null) {
+                recording.stop();
+                recording.close();
+            }
             System.out.println("Done!");
 
         } catch (Exception e) {
@@ -78,4 +194,14 @@ public class MSTApplication {
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Read graphs from a JSON batch file, or a single graph from a plain-text edge list
+     */
+    public static List<JSONParser.GraphData> readInput(String inputFile) throws IOException {
+        if (inputFile.endsWith(".json")) {
+            return JSONParser.parseInputFile(inputFile);
+        }
+        return new ArrayList<>(List.of(EdgeListReader.parseInputFile(inputFile, 1)));
+    }
+}
@@ -0,0 +1,247 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import java.util.*;
+
+/**
+ * Chooses one MST engine per graph from a cost model over V, E, density and cores.
+ *
+ * Each engine's time is modelled as perEdge * work(V, E, cores) + perVertex * V, where
+ * work is E log E for Prim and Kruskal (heap pushes and the edge sort) and
+ * E log V / cores for Boruvka above its parallel threshold. The two coefficients per
+ * engine are fitted by least squares from benchmark runs, see {@link #calibrate}.
+ * The weight range is recorded in the plan, but none of the engines' costs depend on it.
+ */
+public class AlgorithmPlanner {
+
+    /**
+     * Available exact MST engines
+     */
+    public enum Engine {
+        PRIM, KRUSKAL, BORUVKA;
+
+        /**
+         * Name used for the engine's block in the JSON output
+         */
+        public String key() {
+            return name().toLowerCase();
+        }
+
+        public MSTResult run(Graph graph) {
+            return run(graph, new SolverWorkspace());
+        }
+
+        /**
+         * Run the engine, reusing the workspace where the engine supports it
+         */
+        public MSTResult run(Graph graph, SolverWorkspace workspace) {
+            switch (this) {
+                case PRIM:
+                    return new PrimAlgorithm().findMST(graph, workspace);
+                case KRUSKAL:
+                    return new KruskalAlgorithm().findMST(graph, workspace);
+                default:
+                    return new BoruvkaAlgorithm().findMST(graph);
+            }
+        }
+    }
+
+    // Nanoseconds per unit of work and per vertex on a single core: the median of
+    // seven calibrate(40, 7) runs, with every engine working on the graph's indexed view
+    private static final double[][] DEFAULT_COEFFICIENTS = {
+            {19.4, 126.7},   // PRIM
+            {18.5, 0.0},     // KRUSKAL
+            {10.0, 49.2}     // BORUVKA
+    };
+
+    private final double[][] coefficients;
+    private final int cores;
+
+    public AlgorithmPlanner() {
+        this(DEFAULT_COEFFICIENTS, Runtime.getRuntime().availableProcessors());
+    }
+
+    public AlgorithmPlanner(double[][] coefficients, int cores) {
+        this.coefficients = coefficients;
+        this.cores = cores;
+    }
+
+    /**
+     * Pick the engine with the lowest predicted time for this graph
+     */
+    public Plan plan(Graph graph) {
+        int v = graph.getVertexCount();
+        int e = graph.getEdgeCount();
+
+        // Read from the indexed view the chosen engine builds anyway, not a copy of the edge list
+        IndexedGraph indexed = graph.getIndexed();
+        int minWeight = Integer.MAX_VALUE;
+        int maxWeight = Integer.MIN_VALUE;
+        for (int i = 0; i < indexed.getEdgeCount(); i++) {
+            minWeight = Math.min(minWeight, indexed.getWeight(i));
+            maxWeight = Math.max(maxWeight, indexed.getWeight(i));
+        }
+        long weightRange = e == 0 ? 0 : (long) maxWeight - minWeight;
+
+        Engine[] engines = Engine.values();
+        double[] estimates = new double[engines.length];
+        Engine best = engines[0];
+
+        for (Engine engine : engines) {
+            estimates[engine.ordinal()] = estimateMs(engine, v, e);
+            if (estimates[engine.ordinal()] < estimates[best.ordinal()]) {
+                best = engine;
+            }
+        }
+
+        return new Plan(best, v, e, weightRange, cores, estimates);
+    }
+
+    /**
+     * Predicted solve time in milliseconds
+     */
+    public double estimateMs(Engine engine, int v, int e) {
+        double[] c = coefficients[engine.ordinal()];
+        return (c[0] * work(engine, v, e, cores) + c[1] * v) / 1_000_000.0;
+    }
+
+    private static double work(Engine engine, int v, int e, int cores) {
+        switch (engine) {
+            case PRIM:
+            case KRUSKAL:
+                return e * log2(e);
+            default:
+                int parts = e >= BoruvkaAlgorithm.PARALLEL_THRESHOLD ? cores : 1;
+                return e * log2(v) / parts;
+        }
+    }
+
+    private static double log2(int x) {
+        return Math.log(Math.max(2, x)) / Math.log(2);
+    }
+
+    /**
+     * Fit the cost model by timing every engine on random connected graphs.
+     * Each graph is solved a few times first so the timings reflect compiled code.
+     */
+    public static AlgorithmPlanner calibrate(int samples, long seed) {
+        Random random = new Random(seed);
+        int cores = Runtime.getRuntime().availableProcessors();
+        Engine[] engines = Engine.values();
+
+        double[][] work = new double[engines.length][samples];
+        double[][] vertexCounts = new double[engines.length][samples];
+        double[][] nanos = new double[engines.length][samples];
+
+        for (int s = 0; s < samples; s++) {
+            int v = 50 + random.nextInt(5_000);
+            int e = v - 1 + random.nextInt(v * (1 + random.nextInt(20)));
+            Graph graph = randomConnectedGraph(v, e, random);
+
+            for (Engine engine : engines) {
+                for (int warmUp = 0; warmUp < 3; warmUp++) {
+                    engine.run(graph);
+                }
+                long start = System.nanoTime();
+                engine.run(graph);
+                nanos[engine.ordinal()][s] = System.nanoTime() - start;
+                work[engine.ordinal()][s] = work(engine, v, graph.getEdgeCount(), cores);
+                vertexCounts[engine.ordinal()][s] = v;
+            }
+        }
+
+        double[][] fitted = new double[engines.length][];
+        for (Engine engine : engines) {
+            int i = engine.ordinal();
+            fitted[i] = fitNonNegative(work[i], vertexCounts[i], nanos[i]);
+        }
+        return new AlgorithmPlanner(fitted, cores);
+    }
+
+    /**
+     * Least squares for y = a * x1 + b * x2, falling back to one term if a coefficient goes negative
+     */
+    private static double[] fitNonNegative(double[] x1, double[] x2, double[] y) {
+        double s11 = 0, s12 = 0, s22 = 0, s1y = 0, s2y = 0;
+        for (int i = 0; i < y.length; i++) {
+            s11 += x1[i] * x1[i];
+            s12 += x1[i] * x2[i];
+            s22 += x2[i] * x2[i];
+            s1y += x1[i] * y[i];
+            s2y += x2[i] * y[i];
+        }
+
+        double det = s11 * s22 - s12 * s12;
+        if (det != 0) {
+            double a = (s1y * s22 - s2y * s12) / det;
+            double b = (s2y * s11 - s1y * s12) / det;
+            if (a >= 0 && b >= 0) {
+                return new double[]{a, b};
+            }
+        }
+        return new double[]{s11 == 0 ? 0 : Math.max(0, s1y / s11), 0};
+    }
+
+    private static Graph randomConnectedGraph(int v, int e, Random random) {
+        Graph graph = new Graph();
+        for (int i = 1; i < v; i++) {
+            graph.addEdge("V" + random.nextInt(i), "V" + i, 1 + random.nextInt(1_000));
+        }
+        for (int i = v - 1; i < e; i++) {
+            graph.addEdge("V" + random.nextInt(v), "V" + random.nextInt(v), 1 + random.nextInt(1_000));
+        }
+        return graph;
+    }
+
+    public double[][] getCoefficients() {
+        return coefficients;
+    }
+
+    /**
+     * The chosen engine together with the graph shape and estimates that led to it
+     */
+    public static class Plan {
+        private final Engine engine;
+        private final int vertexCount;
+        private final int edgeCount;
+        private final long weightRange;
+        private final int cores;
+        private final double[] estimatesMs;
+
+        public Plan(Engine engine, int vertexCount, int edgeCount, long weightRange,
+                    int cores, double[] estimatesMs) {
+            this.engine = engine;
+            this.vertexCount = vertexCount;
+            this.edgeCount = edgeCount;
+            this.weightRange = weightRange;
+            this.cores = cores;
+            this.estimatesMs = estimatesMs;
+        }
+
+        public Engine getEngine() {
+            return engine;
+        }
+
+        public double getDensity() {
+            return vertexCount < 2 ? 0 : 2.0 * edgeCount / ((double) vertexCount * (vertexCount - 1));
+        }
+
+        public long getWeightRange() {
+            return weightRange;
+        }
+
+        public int getCores() {
+            return cores;
+        }
+
+        public double getEstimateMs(Engine candidate) {
+            return estimatesMs[candidate.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            return "Plan: " + engine.key() + String.format(" (density %.3f, %d cores)", getDensity(), cores);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Edge;
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import com.mst.graph.MemoryLayout;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of Boruvka's algorithm for finding Minimum Spanning Tree.
+ * Every round picks the cheapest outgoing edge of each component; on large graphs
+ * the edge scan is split across the available cores. Works on the graph's indexed
+ * view, so only the live edge list and per-vertex arrays are allocated.
+ */
+public class BoruvkaAlgorithm {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private int operationsCount;
+
+    public MSTResult findMST(Graph graph) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
+
+        IndexedGraph indexed = graph.getIndexed();
+        int n = indexed.getVertexCount();
+        int m = indexed.getEdgeCount();
+        int[] live = new int[m];
+        for (int e = 0; e < m; e++) {
+            live[e] = e;
+        }
+        operationsCount += m;
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        int[] comp = new int[n];
+        int[] cheapest = new int[n];
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, n - 1));
+        int totalCost = 0;
+        int liveCount = m;
+
+        while (mstEdges.size() < n - 1) {
+            for (int v = 0; v < n; v++) {
+                comp[v] = find(parent, v);
+            }
+
+            // Drop edges that became internal to a component
+            int kept = 0;
+            for (int i = 0; i < liveCount; i++) {
+                int e = live[i];
+                if (comp[indexed.getFrom(e)] != comp[indexed.getTo(e)]) {
+                    live[kept++] = e;
+                }
+            }
+            liveCount = kept;
+            operationsCount += liveCount;
+
+            findCheapest(live, liveCount, indexed, comp, cheapest);
+
+            int merged = 0;
+            for (int c = 0; c < n; c++) {
+                int e = cheapest[c];
+                if (e == -1) {
+                    continue;
+                }
+                int rootA = find(parent, indexed.getFrom(e));
+                int rootB = find(parent, indexed.getTo(e));
+                operationsCount++;
+
+                if (rootA != rootB) {
+                    parent[rootA] = rootB;
+                    mstEdges.add(indexed.getEdge(e));
+                    totalCost += indexed.getWeight(e);
+                    merged++;
+                    operationsCount += 2;
+                }
+            }
+
+            // No component has an outgoing edge left: the graph is not connected
+            if (merged == 0) {
+                mstEdges.clear();
+                totalCost = 0;
+                break;
+            }
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(estimateAuxiliaryBytes(n, m), allocatedBytes);
+
+        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs, memoryStats);
+    }
+
+    /**
+     * Peak auxiliary bytes of a solve on n vertices and m edges: the live edge list, the
+     * component arrays and, on large graphs, the per-core cheapest-edge slices. Slices are
+     * filled on pool threads, so the thread allocation counter does not see them.
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        long bytes = MemoryLayout.array(m, 4)
+                + 3 * MemoryLayout.array(n, 4);
+        if (m >= PARALLEL_THRESHOLD) {
+            int parts = Runtime.getRuntime().availableProcessors();
+            bytes += MemoryLayout.array(parts, MemoryLayout.REFERENCE) + parts * MemoryLayout.array(n, 4);
+        }
+        return bytes;
+    }
+
+    /**
+     * Cheapest outgoing live edge per component root, or -1; ties go to the lower edge index
+     */
+    private static void findCheapest(int[] live, int liveCount, IndexedGraph graph, int[] comp, int[] cheapest) {
+        int n = cheapest.length;
+        int parts = liveCount >= PARALLEL_THRESHOLD ? Runtime.getRuntime().availableProcessors() : 1;
+
+        if (parts == 1) {
+            Arrays.fill(cheapest, -1);
+            scan(live, 0, liveCount, graph, comp, cheapest);
+            return;
+        }
+
+        // Each part scans a slice into its own array; the slices are then merged
+        int[][] partial = new int[parts][];
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            int[] local = new int[n];
+            Arrays.fill(local, -1);
+            int lo = (int) ((long) liveCount * p / parts);
+            int hi = (int) ((long) liveCount * (p + 1) / parts);
+            scan(live, lo, hi, graph, comp, local);
+            partial[p] = local;
+        });
+
+        System.arraycopy(partial[0], 0, cheapest, 0, n);
+        for (int p = 1; p < parts; p++) {
+            for (int c = 0; c < n; c++) {
+                int e = partial[p][c];
+                if (e != -1 && isLighter(e, cheapest[c], graph)) {
+                    cheapest[c] = e;
+                }
+            }
+        }
+    }
+
+    private static void scan(int[] live, int lo, int hi, IndexedGraph graph, int[] comp, int[] cheapest) {
+        for (int i = lo; i < hi; i++) {
+            int e = live[i];
+            int a = comp[graph.getFrom(e)];
+            int b = comp[graph.getTo(e)];
+            if (isLighter(e, cheapest[a], graph)) {
+                cheapest[a] = e;
+            }
+            if (isLighter(e, cheapest[b], graph)) {
+                cheapest[b] = e;
+            }
+        }
+    }
+
+    private static boolean isLighter(int e, int current, IndexedGraph graph) {
+        return current == -1 || graph.getWeight(e) < graph.getWeight(current)
+                || (graph.getWeight(e) == graph.getWeight(current) && e < current);
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+}
@@ -0,0 +1,341 @@
+package com.mst.algorithms;
+
+import com.mst.graph.DoubleEdge;
+import com.mst.graph.MemoryLayout;
+import com.mst.graph.PointSet;
+import java.util.*;
+
+/**
+ * Euclidean MST over a point set using Boruvka rounds driven by a k-d tree.
+ * Each round finds, for every component, its nearest point in another component
+ * with a pruned nearest-neighbour search, so the complete graph is never built.
+ * Edge weights are the exact distances.
+ */
+public class EuclideanMSTAlgorithm {
+    private int operationsCount;
+
+    public DoubleMSTResult findMST(PointSet points) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
+
+        int n = points.size();
+        List<DoubleEdge> mstEdges = new ArrayList<>();
+
+        if (n == 0) {
+            return new DoubleMSTResult(mstEdges, 0, operationsCount, 0);
+        }
+
+        KdTree tree = new KdTree(points);
+        UnionFind uf = new UnionFind(n);
+        int[] comp = new int[n];
+        double[] bestDist = new double[n];
+        int[] bestA = new int[n];
+        int[] bestB = new int[n];
+
+        double totalCost = 0;
+        int components = n;
+
+        // Each Boruvka round at least halves the number of components
+        while (components > 1) {
+            for (int i = 0; i < n; i++) {
+                comp[i] = uf.find(i);
+            }
+            Arrays.fill(bestDist, Double.POSITIVE_INFINITY);
+            Arrays.fill(bestA, -1);
+            tree.labelComponents(comp);
+            operationsCount++;
+
+            for (int p = 0; p < n; p++) {
+                tree.nearestOutside(p, comp, bestDist, bestA, bestB);
+            }
+
+            for (int c = 0; c < n; c++) {
+                if (bestA[c] == -1) {
+                    continue;
+                }
+                int a = bestA[c];
+                int b = bestB[c];
+                operationsCount++;
+
+                if (uf.union(a, b)) {
+                    double weight = Math.sqrt(bestDist[c]);
+                    mstEdges.add(new DoubleEdge(points.getName(a), points.getName(b), weight));
+                    totalCost += weight;
+                    components--;
+                    operationsCount += 2;
+                }
+            }
+        }
+
+        operationsCount += tree.getOperationsCount();
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(estimateAuxiliaryBytes(n), allocatedBytes);
+
+        return new DoubleMSTResult(mstEdges, totalCost, operationsCount, executionTimeMs, memoryStats);
+    }
+
+    /**
+     * Peak auxiliary bytes of a solve on n points: the k-d tree, union-find and per-round arrays
+     */
+    public static long estimateAuxiliaryBytes(int n) {
+        int nodes = 2 * (n / (KdTree.LEAF_SIZE / 2) + 1);
+        return MemoryLayout.array(n, 4)
+                + 5 * MemoryLayout.array(nodes, 4)
+                + 4 * MemoryLayout.array(nodes, 8)
+                + 2 * MemoryLayout.array(n, 4)
+                + 3 * MemoryLayout.array(n, 4)
+                + MemoryLayout.array(n, 8);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    /**
+     * Two-dimensional k-d tree with per-node bounding boxes and component labels
+     */
+    private static class KdTree {
+        private static final int LEAF_SIZE = 8;
+
+        private final PointSet points;
+        private final int[] perm;
+        private final int[] lo;
+        private final int[] hi;
+        private final int[] left;
+        private final int[] right;
+        private final double[] minX;
+        private final double[] maxX;
+        private final double[] minY;
+        private final double[] maxY;
+        private final int[] nodeComp;
+        private int nodeCount;
+        private int operationsCount;
+
+        KdTree(PointSet points) {
+            this.points = points;
+            int n = points.size();
+            // Leaves hold at least LEAF_SIZE / 2 points, bounding the node count
+            int capacity = 2 * (n / (LEAF_SIZE / 2) + 1);
+
+            perm = new int[n];
+            for (int i = 0; i < n; i++) {
+                perm[i] = i;
+            }
+            lo = new int[capacity];
+            hi = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            minX = new double[capacity];
+            maxX = new double[capacity];
+            minY = new double[capacity];
+            maxY = new double[capacity];
+            nodeComp = new int[capacity];
+
+            build(0, n);
+        }
+
+        private int build(int from, int to) {
+            int node = nodeCount++;
+            lo[node] = from;
+            hi[node] = to;
+            left[node] = -1;
+            right[node] = -1;
+
+            double x0 = Double.POSITIVE_INFINITY, x1 = Double.NEGATIVE_INFINITY;
+            double y0 = Double.POSITIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double x = points.getX(perm[i]);
+                double y = points.getY(perm[i]);
+                x0 = Math.min(x0, x);
+                x1 = Math.max(x1, x);
+                y0 = Math.min(y0, y);
+                y1 = Math.max(y1, y);
+            }
+            minX[node] = x0;
+            maxX[node] = x1;
+            minY[node] = y0;
+            maxY[node] = y1;
+
+            if (to - from > LEAF_SIZE) {
+                // Split on the median of the wider side of the box
+                boolean splitX = (x1 - x0) >= (y1 - y0);
+                int mid = (from + to) >>> 1;
+                select(from, to - 1, mid, splitX);
+                left[node] = build(from, mid);
+                right[node] = build(mid, to);
+            }
+            return node;
+        }
+
+        private void select(int from, int to, int k, boolean byX) {
+            while (from < to) {
+                double pivot = coordinate(perm[(from + to) >>> 1], byX);
+                int i = from;
+                int j = to;
+                while (i <= j) {
+                    while (coordinate(perm[i], byX) < pivot) i++;
+                    while (coordinate(perm[j], byX) > pivot) j--;
+                    if (i <= j) {
+                        int tmp = perm[i];
+                        perm[i] = perm[j];
+                        perm[j] = tmp;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) {
+                    to = j;
+                } else if (k >= i) {
+                    from = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private double coordinate(int point, boolean byX) {
+            return byX ? points.getX(point) : points.getY(point);
+        }
+
+        /**
+         * Mark every node whose points all share one component, so searches can skip it
+         */
+        void labelComponents(int[] comp) {
+            for (int node = nodeCount - 1; node >= 0; node--) {
+                if (left[node] == -1) {
+                    int label = comp[perm[lo[node]]];
+                    for (int i = lo[node] + 1; i < hi[node]; i++) {
+                        if (comp[perm[i]] != label) {
+                            label = -1;
+                            break;
+                        }
+                    }
+                    nodeComp[node] = label;
+                } else {
+                    // Children are always built after their parent
+                    int l = nodeComp[left[node]];
+                    nodeComp[node] = (l != -1 && l == nodeComp[right[node]]) ? l : -1;
+                }
+            }
+        }
+
+        /**
+         * Update the best outgoing edge of p's component with p's nearest foreign point
+         */
+        void nearestOutside(int p, int[] comp, double[] bestDist, int[] bestA, int[] bestB) {
+            search(0, p, comp, bestDist, bestA, bestB);
+        }
+
+        private void search(int node, int p, int[] comp, double[] bestDist, int[] bestA, int[] bestB) {
+            int c = comp[p];
+            operationsCount++;
+
+            if (nodeComp[node] == c || boxDistance(node, p) > bestDist[c]) {
+                return;
+            }
+
+            if (left[node] == -1) {
+                for (int i = lo[node]; i < hi[node]; i++) {
+                    int q = perm[i];
+                    if (comp[q] == c) {
+                        continue;
+                    }
+                    double dx = points.getX(p) - points.getX(q);
+                    double dy = points.getY(p) - points.getY(q);
+                    double d = dx * dx + dy * dy;
+                    operationsCount++;
+
+                    if (isBetter(d, p, q, bestDist[c], bestA[c], bestB[c])) {
+                        bestDist[c] = d;
+                        bestA[c] = Math.min(p, q);
+                        bestB[c] = Math.max(p, q);
+                    }
+                }
+                return;
+            }
+
+            // Visit the closer child first to tighten the bound early
+            int near = left[node];
+            int far = right[node];
+            if (boxDistance(far, p) < boxDistance(near, p)) {
+                near = right[node];
+                far = left[node];
+            }
+            search(near, p, comp, bestDist, bestA, bestB);
+            search(far, p, comp, bestDist, bestA, bestB);
+        }
+
+        /**
+         * Squared distance from point p to the bounding box of a node
+         */
+        private double boxDistance(int node, int p) {
+            double x = points.getX(p);
+            double y = points.getY(p);
+            double dx = Math.max(0, Math.max(minX[node] - x, x - maxX[node]));
+            double dy = Math.max(0, Math.max(minY[node] - y, y - maxY[node]));
+            return dx * dx + dy * dy;
+        }
+
+        /**
+         * Order candidates by distance, then by endpoints, so ties never close a cycle
+         */
+        private static boolean isBetter(double d, int p, int q, double best, int bestA, int bestB) {
+            if (d != best) {
+                return d < best;
+            }
+            int a = Math.min(p, q);
+            int b = Math.max(p, q);
+            return bestA == -1 || a < bestA || (a == bestA && b < bestB);
+        }
+
+        int getOperationsCount() {
+            return operationsCount;
+        }
+    }
+
+    /**
+     * Array-based Union-Find with path halving and union by size
+     */
+    private static class UnionFind {
+        private final int[] parent;
+        private final int[] size;
+
+        UnionFind(int n) {
+            parent = new int[n];
+            size = new int[n];
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+        }
+
+        int find(int v) {
+            while (parent[v] != v) {
+                parent[v] = parent[parent[v]];
+                v = parent[v];
+            }
+            return v;
+        }
+
+        boolean union(int a, int b) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) {
+                return false;
+            }
+            if (size[ra] < size[rb]) {
+                int tmp = ra;
+                ra = rb;
+                rb = tmp;
+            }
+            parent[rb] = ra;
+            size[ra] += size[rb];
+            return true;
+        }
+    }
+}
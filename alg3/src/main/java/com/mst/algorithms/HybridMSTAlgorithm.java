@@ -0,0 +1,377 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Edge;
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import com.mst.graph.MemoryLayout;
+import java.util.*;
+
+/**
+ * Borůvka contraction followed by Prim. Every contraction round adds the cheapest
+ * edge leaving each component, which at least halves the component count, then
+ * renumbers the components and keeps only the lightest edge between each pair of
+ * them. Once the contracted graph is small enough, heap-based Prim finishes it.
+ * Contracted edges keep their original edge ids, so the tree is reported with
+ * the input graph's Edge objects. Ties are broken by edge id, as in BoruvkaAlgorithm.
+ */
+public class HybridMSTAlgorithm {
+    /** Contract until the graph fits in the cache budget instead of a fixed number of rounds */
+    public static final int AUTO_ROUNDS = -1;
+    /** Default working-set budget of the automatic mode: about one core's L2 cache */
+    static final long CACHE_BYTES = 1 << 20;
+
+    private final int rounds;
+    private final long cacheBytes;
+    private int operationsCount;
+    private int contractionRounds;
+    private int contractedVertexCount;
+    private int contractedEdgeCount;
+
+    public HybridMSTAlgorithm() {
+        this(AUTO_ROUNDS);
+    }
+
+    /**
+     * Run at most the given number of contraction rounds before Prim, or AUTO_ROUNDS
+     */
+    public HybridMSTAlgorithm(int rounds) {
+        this(rounds, CACHE_BYTES);
+    }
+
+    /**
+     * As above, with the working-set budget AUTO_ROUNDS contracts the graph down to
+     */
+    public HybridMSTAlgorithm(int rounds, long cacheBytes) {
+        if (rounds < 0 && rounds != AUTO_ROUNDS) {
+            throw new IllegalArgumentException("Rounds must be non-negative or AUTO_ROUNDS");
+        }
+        if (cacheBytes < 0) {
+            throw new IllegalArgumentException("Cache budget must be non-negative");
+        }
+        this.rounds = rounds;
+        this.cacheBytes = cacheBytes;
+    }
+
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph, new SolverWorkspace());
+    }
+
+    /**
+     * Find the MST, running the Prim phase in the caller's workspace.
+     * A disconnected graph yields an empty result.
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace) {
+        operationsCount = 0;
+        contractionRounds = 0;
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
+
+        IndexedGraph indexed = graph.getIndexed();
+        int n = indexed.getVertexCount();
+        int m = indexed.getEdgeCount();
+
+        // Contracted graph: edge i joins components from[i] and to[i] and is input edge id[i]
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int[] id = new int[m];
+        int cm = 0;
+        for (int e = 0; e < m; e++) {
+            if (indexed.getFrom(e) != indexed.getTo(e)) {
+                from[cm] = indexed.getFrom(e);
+                to[cm] = indexed.getTo(e);
+                weight[cm] = indexed.getWeight(e);
+                id[cm] = e;
+                cm++;
+            }
+        }
+        operationsCount += m;
+        int cn = n;
+
+        int[] treeEdges = new int[Math.max(0, n - 1)];
+        int treeSize = 0;
+        int totalCost = 0;
+
+        int[] parent = new int[n];
+        int[] cheapest = new int[n];
+        int[] label = new int[n];
+        while (cn > 1 && (rounds == AUTO_ROUNDS ? estimateWorkingSetBytes(cn, cm) > cacheBytes
+                : contractionRounds < rounds)) {
+            for (int c = 0; c < cn; c++) {
+                parent[c] = c;
+                cheapest[c] = -1;
+            }
+
+            for (int i = 0; i < cm; i++) {
+                if (isLighter(i, cheapest[from[i]], weight, id)) {
+                    cheapest[from[i]] = i;
+                }
+                if (isLighter(i, cheapest[to[i]], weight, id)) {
+                    cheapest[to[i]] = i;
+                }
+            }
+            operationsCount += cm;
+
+            int merged = 0;
+            for (int c = 0; c < cn; c++) {
+                int i = cheapest[c];
+                if (i != -1 && union(parent, from[i], to[i])) {
+                    treeEdges[treeSize++] = id[i];
+                    totalCost += weight[i];
+                    merged++;
+                }
+                operationsCount++;
+            }
+
+            // No component has an outgoing edge left: the graph is not connected
+            if (merged == 0) {
+                break;
+            }
+            contractionRounds++;
+
+            // Number the new components densely
+            Arrays.fill(label, 0, cn, -1);
+            int next = 0;
+            for (int c = 0; c < cn; c++) {
+                int root = find(parent, c);
+                if (label[root] == -1) {
+                    label[root] = next++;
+                }
+                label[c] = label[root];
+            }
+            cn = next;
+
+            cm = contract(from, to, weight, id, cm, label);
+            operationsCount += cm;
+        }
+
+        contractedVertexCount = cn;
+        contractedEdgeCount = cm;
+
+        // Finish on the contracted graph
+        int[] adjacencyStart = new int[cn + 1];
+        int[] adjacency = buildAdjacency(cn, from, to, cm, adjacencyStart);
+        prim(cn, cm, from, to, weight, id, adjacencyStart, adjacency, workspace);
+
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, n - 1));
+        if (treeSize + workspace.getResultSize() == n - 1) {
+            for (int i = 0; i < treeSize; i++) {
+                mstEdges.add(indexed.getEdge(treeEdges[i]));
+            }
+            for (int i = 0; i < workspace.getResultSize(); i++) {
+                int e = workspace.getResultEdge(i);
+                mstEdges.add(indexed.getEdge(id[e]));
+                totalCost += weight[e];
+            }
+        } else {
+            totalCost = 0;
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(estimateAuxiliaryBytes(n, m), allocatedBytes);
+
+        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs, memoryStats);
+    }
+
+    /**
+     * Relabel the endpoints of the first cm edges into their new components, dropping
+     * edges inside a component and all but the lightest edge between two components.
+     * Surviving edges are compacted to the front in input order; returns their count.
+     */
+    private static int contract(int[] from, int[] to, int[] weight, int[] id, int cm, int[] label) {
+        int capacity = Integer.highestOneBit(Math.max(1, 2 * cm - 1)) << 1;
+        // Slots hold kept edge indices; a kept edge's endpoints are its key, smaller first
+        int[] tableEdges = new int[capacity];
+        Arrays.fill(tableEdges, -1);
+        int mask = capacity - 1;
+
+        int kept = 0;
+        for (int i = 0; i < cm; i++) {
+            int a = label[from[i]];
+            int b = label[to[i]];
+            if (a == b) {
+                continue;
+            }
+
+            int lo = Math.min(a, b);
+            int hi = Math.max(a, b);
+            int slot = (int) mix(((long) lo << 32) | hi) & mask;
+            while (tableEdges[slot] != -1 && (from[tableEdges[slot]] != lo || to[tableEdges[slot]] != hi)) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (tableEdges[slot] == -1) {
+                tableEdges[slot] = kept;
+                from[kept] = lo;
+                to[kept] = hi;
+                weight[kept] = weight[i];
+                id[kept] = id[i];
+                kept++;
+            } else {
+                // A parallel edge replaces the kept one in place when it is lighter
+                int j = tableEdges[slot];
+                if (weight[i] < weight[j] || (weight[i] == weight[j] && id[i] < id[j])) {
+                    weight[j] = weight[i];
+                    id[j] = id[i];
+                }
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Heap-based Prim over the contracted graph, leaving contracted edge indices in the workspace
+     */
+    private void prim(int n, int m, int[] from, int[] to, int[] weight, int[] id,
+                      int[] adjacencyStart, int[] adjacency, SolverWorkspace workspace) {
+        workspace.prepare(n, m);
+        if (n == 0) {
+            return;
+        }
+
+        workspace.markVisited(0);
+        pushEdges(0, from, to, weight, adjacencyStart, adjacency, workspace);
+        int visitedCount = 1;
+
+        while (workspace.heapSize > 0 && visitedCount < n) {
+            int edge = SolverWorkspace.keyEdge(workspace.heapPop());
+            operationsCount++;
+
+            int next = workspace.isVisited(from[edge]) ? to[edge] : from[edge];
+            if (workspace.isVisited(next)) {
+                continue;
+            }
+
+            workspace.resultEdges[workspace.resultSize++] = edge;
+            workspace.markVisited(next);
+            visitedCount++;
+            operationsCount += 2;
+
+            pushEdges(next, from, to, weight, adjacencyStart, adjacency, workspace);
+        }
+
+        if (visitedCount < n) {
+            workspace.resultSize = 0;
+        }
+    }
+
+    private void pushEdges(int v, int[] from, int[] to, int[] weight, int[] adjacencyStart, int[] adjacency,
+                           SolverWorkspace workspace) {
+        for (int i = adjacencyStart[v]; i < adjacencyStart[v + 1]; i++) {
+            int edge = adjacency[i];
+            operationsCount++;
+            if (!workspace.isVisited(from[edge] == v ? to[edge] : from[edge])) {
+                workspace.heapPush(SolverWorkspace.packKey(weight[edge], edge));
+                operationsCount++;
+            }
+        }
+    }
+
+    /**
+     * CSR adjacency of the first m edges over n vertices, as edge indices
+     */
+    private static int[] buildAdjacency(int n, int[] from, int[] to, int m, int[] adjacencyStart) {
+        for (int e = 0; e < m; e++) {
+            adjacencyStart[from[e] + 1]++;
+            adjacencyStart[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjacencyStart[v + 1] += adjacencyStart[v];
+        }
+
+        int[] adjacency = new int[2 * m];
+        int[] fill = Arrays.copyOf(adjacencyStart, n);
+        for (int e = 0; e < m; e++) {
+            adjacency[fill[from[e]]++] = e;
+            adjacency[fill[to[e]]++] = e;
+        }
+        return adjacency;
+    }
+
+    /**
+     * Bytes the Prim phase touches on a contracted graph of n vertices and m edges:
+     * the edge arrays, the CSR adjacency and Prim's heap and visited set
+     */
+    static long estimateWorkingSetBytes(int n, int m) {
+        return 4 * MemoryLayout.array(m, 4)
+                + MemoryLayout.array(n + 1, 4) + MemoryLayout.array(2L * m, 4)
+                + PrimAlgorithm.estimateAuxiliaryBytes(n, m);
+    }
+
+    /**
+     * Peak auxiliary bytes of a solve on n vertices and m edges: the contracted edge
+     * arrays, per-component round state, the contraction table, the tree buffer and
+     * the final Prim phase, bounded by its size on the uncontracted graph
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        int capacity = Integer.highestOneBit(Math.max(1, 2 * m - 1)) << 1;
+        return 4 * MemoryLayout.array(m, 4)
+                + 4 * MemoryLayout.array(n, 4)
+                + MemoryLayout.array(capacity, 4)
+                + MemoryLayout.array(n + 1, 4) + MemoryLayout.array(2L * m, 4)
+                + PrimAlgorithm.estimateAuxiliaryBytes(n, m);
+    }
+
+    private static boolean isLighter(int e, int current, int[] weight, int[] id) {
+        return current == -1 || weight[e] < weight[current]
+                || (weight[e] == weight[current] && id[e] < id[current]);
+    }
+
+    private static boolean union(int[] parent, int u, int v) {
+        int a = find(parent, u);
+        int b = find(parent, v);
+        if (a == b) {
+            return false;
+        }
+        parent[a] = b;
+        return true;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static long mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return key ^ (key >>> 29);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    /**
+     * Configured contraction rounds, or AUTO_ROUNDS
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Contraction rounds run by the last solve
+     */
+    public int getContractionRounds() {
+        return contractionRounds;
+    }
+
+    /**
+     * Vertices of the graph the last solve handed to Prim
+     */
+    public int getContractedVertexCount() {
+        return contractedVertexCount;
+    }
+
+    /**
+     * Edges of the graph the last solve handed to Prim
+     */
+    public int getContractedEdgeCount() {
+        return contractedEdgeCount;
+    }
+}
@@ -2,6 +2,8 @@ package com.mst.algorithms;
 
 import com.mst.graph.Edge;
 import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import com.mst.graph.MemoryLayout;
 import java.util.*;
 
 /**
@@ -11,119 +13,111 @@ public class KruskalAlgorithm {
     private int operationsCount;
 
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
-        long startTime = System.nanoTime();
-
-        Set<String> vertices = graph.getVertices();
-
-        if (vertices.isEmpty() || !graph.isConnected()) {
-            return new MSTResult(new ArrayList<>(), 0, operationsCount, 0);
-        }
-
-        List<Edge> mstEdges = new ArrayList<>();
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
-        Collections.sort(sortedEdges);
-        operationsCount++;
-
-        // Initialize Union-Find structure
-        UnionFind uf = new UnionFind(vertices);
-
-        int totalCost = 0;
+        return findMST(graph, new SolverWorkspace());
+    }
 
-        // Process edges in sorted order
-        for (Edge edge : sortedEdges) {
-            operationsCount++;
+    /**
+     * Find the MST reusing the caller's workspace; only the returned MSTResult is allocated
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace) {
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
 
-            String from = edge.getFrom();
-            String to = edge.getTo();
+        IndexedGraph indexed = graph.getIndexed();
+        solve(indexed, workspace);
 
-            // Check if adding this edge creates a cycle
-            if (!uf.connected(from, to)) {
-                operationsCount++;
-                uf.union(from, to);
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
-                operationsCount += 2;
-
-                // Stop if we have enough edges
-                if (mstEdges.size() == vertices.size() - 1) {
-                    break;
-                }
-            }
+        List<Edge> mstEdges = new ArrayList<>(workspace.getResultSize());
+        for (int i = 0; i < workspace.getResultSize(); i++) {
+            mstEdges.add(indexed.getEdge(workspace.getResultEdge(i)));
         }
 
         long endTime = System.nanoTime();
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
 
-        operationsCount += uf.getOperationsCount();
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(
+                estimateAuxiliaryBytes(indexed.getVertexCount(), indexed.getEdgeCount()), allocatedBytes);
 
-        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs);
-    }
-
-    public int getOperationsCount() {
-        return operationsCount;
+        return new MSTResult(mstEdges, workspace.getTotalCost(), operationsCount, executionTimeMs,
+                memoryStats);
     }
 
     /**
-     * Union-Find (Disjoint Set) data structure with path compression
+     * Allocation-free core: leaves the tree edge ids and total cost in the workspace.
+     * A disconnected graph yields an empty result.
      */
-    private static class UnionFind {
-        private final Map<String, String> parent;
-        private final Map<String, Integer> rank;
-        private int operationsCount;
-
-        public UnionFind(Set<String> vertices) {
-            parent = new HashMap<>();
-            rank = new HashMap<>();
-            operationsCount = 0;
-
-            for (String v : vertices) {
-                parent.put(v, v);
-                rank.put(v, 0);
-            }
+    public void solve(IndexedGraph graph, SolverWorkspace workspace) {
+        operationsCount = 0;
+
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        workspace.prepare(n, m);
+
+        if (n == 0) {
+            return;
         }
 
-        public String find(String vertex) {
-            operationsCount++;
-            if (!parent.get(vertex).equals(vertex)) {
-                parent.put(vertex, find(parent.get(vertex))); // Path compression
-                operationsCount++;
-            }
-            return parent.get(vertex);
+        // Sort edge ids by (weight, id), which keeps equal weights in input order
+        long[] keys = workspace.sortKeys;
+        for (int e = 0; e < m; e++) {
+            keys[e] = SolverWorkspace.packKey(graph.getWeight(e), e);
         }
+        PrimitiveSort.sort(keys, m);
+        operationsCount++;
 
-        public boolean connected(String v1, String v2) {
-            operationsCount++;
-            return find(v1).equals(find(v2));
+        // Initialize Union-Find structure
+        int[] parent = workspace.parent;
+        int[] rank = workspace.rank;
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+            rank[v] = 0;
         }
 
-        public void union(String v1, String v2) {
-            String root1 = find(v1);
-            String root2 = find(v2);
+        // Process edges in sorted order
+        for (int i = 0; i < m && workspace.resultSize < n - 1; i++) {
+            int edge = SolverWorkspace.keyEdge(keys[i]);
             operationsCount++;
 
-            if (root1.equals(root2)) {
-                return;
+            // Check if adding this edge creates a cycle
+            int root1 = workspace.find(graph.getFrom(edge));
+            int root2 = workspace.find(graph.getTo(edge));
+            operationsCount += 2;
+
+            if (root1 == root2) {
+                continue;
             }
 
             // Union by rank
-            int rank1 = rank.get(root1);
-            int rank2 = rank.get(root2);
-            operationsCount++;
-
-            if (rank1 < rank2) {
-                parent.put(root1, root2);
-            } else if (rank1 > rank2) {
-                parent.put(root2, root1);
+            if (rank[root1] < rank[root2]) {
+                parent[root1] = root2;
+            } else if (rank[root1] > rank[root2]) {
+                parent[root2] = root1;
             } else {
-                parent.put(root2, root1);
-                rank.put(root1, rank1 + 1);
+                parent[root2] = root1;
+                rank[root1]++;
             }
-            operationsCount++;
+
+            workspace.resultEdges[workspace.resultSize++] = edge;
+            workspace.totalCost += graph.getWeight(edge);
+            operationsCount += 3;
         }
 
-        public int getOperationsCount() {
-            return operationsCount;
+        if (workspace.resultSize < n - 1) {
+            workspace.resultSize = 0;
+            workspace.totalCost = 0;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Peak auxiliary bytes of a solve on n vertices and m edges: sorted key copy, union-find arrays and tree edge buffer
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        return MemoryLayout.array(m, 8)
+                + 2 * MemoryLayout.array(n, 4)
+                + MemoryLayout.array(n, 4);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+}
@@ -0,0 +1,103 @@
+package com.mst.algorithms;
+
+import com.mst.graph.LongEdge;
+import com.mst.graph.LongGraph;
+import com.mst.graph.MemoryLayout;
+import java.util.*;
+
+/**
+ * Kruskal's algorithm specialized for long weights; edge ids are sorted by primitive keys, so nothing is boxed
+ */
+public class LongKruskalAlgorithm {
+    private int operationsCount;
+
+    public LongMSTResult findMST(LongGraph graph) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
+
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        List<LongEdge> mstEdges = new ArrayList<>();
+
+        if (n == 0 || !graph.isConnected()) {
+            return new LongMSTResult(mstEdges, 0, operationsCount, 0);
+        }
+
+        long[] keys = new long[m];
+        int[] order = new int[m];
+        for (int e = 0; e < m; e++) {
+            keys[e] = graph.getWeight(e);
+            order[e] = e;
+        }
+        PrimitiveSort.sortIndices(order, keys, m);
+        operationsCount++;
+
+        // Initialize Union-Find structure
+        int[] parent = new int[n];
+        int[] rank = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+        }
+
+        long totalCost = 0;
+
+        // Process edges in sorted order
+        for (int i = 0; i < m && mstEdges.size() < n - 1; i++) {
+            int edge = order[i];
+            operationsCount++;
+
+            int root1 = find(parent, graph.getFrom(edge));
+            int root2 = find(parent, graph.getTo(edge));
+            operationsCount += 2;
+
+            // Check if adding this edge creates a cycle
+            if (root1 == root2) {
+                continue;
+            }
+
+            // Union by rank
+            if (rank[root1] < rank[root2]) {
+                parent[root1] = root2;
+            } else if (rank[root1] > rank[root2]) {
+                parent[root2] = root1;
+            } else {
+                parent[root2] = root1;
+                rank[root1]++;
+            }
+
+            mstEdges.add(graph.getEdge(edge));
+            totalCost += graph.getWeight(edge);
+            operationsCount += 3;
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(estimateAuxiliaryBytes(n, m), allocatedBytes);
+
+        return new LongMSTResult(mstEdges, totalCost, operationsCount, executionTimeMs, memoryStats);
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * Peak auxiliary bytes of a solve on n vertices and m edges: sort keys, sorted edge order and union-find arrays
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        return MemoryLayout.array(m, 8)
+                + MemoryLayout.array(m, 4)
+                + 2 * MemoryLayout.array(n, 4);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+}
@@ -0,0 +1,96 @@
+package com.mst.algorithms;
+
+import com.mst.graph.LongEdge;
+import java.util.List;
+
+/**
+ * Result container for MST algorithm execution on long-weighted graphs
+ */
+public class LongMSTResult implements SpanningTreeResult {
+    private final List<LongEdge> mstEdges;
+    private final long totalCost;
+    private final int operationsCount;
+    private final double executionTimeMs;
+    private final MemoryStats memoryStats;
+
+    public LongMSTResult(List<LongEdge> mstEdges, long totalCost, int operationsCount, double executionTimeMs) {
+        this(mstEdges, totalCost, operationsCount, executionTimeMs, null);
+    }
+
+    public LongMSTResult(List<LongEdge> mstEdges, long totalCost, int operationsCount, double executionTimeMs,
+                         MemoryStats memoryStats) {
+        this.mstEdges = mstEdges;
+        this.totalCost = totalCost;
+        this.operationsCount = operationsCount;
+        this.executionTimeMs = executionTimeMs;
+        this.memoryStats = memoryStats;
+    }
+
+    public List<LongEdge> getMstEdges() {
+        return mstEdges;
+    }
+
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    @Override
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    @Override
+    public double getExecutionTimeMs() {
+        return executionTimeMs;
+    }
+
+    /**
+     * Memory footprint of the solve, or null if it was not measured
+     */
+    @Override
+    public MemoryStats getMemoryStats() {
+        return memoryStats;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return mstEdges.size();
+    }
+
+    @Override
+    public String getEdgeFrom(int i) {
+        return mstEdges.get(i).getFrom();
+    }
+
+    @Override
+    public String getEdgeTo(int i) {
+        return mstEdges.get(i).getTo();
+    }
+
+    @Override
+    public String getEdgeWeightText(int i) {
+        return Long.toString(mstEdges.get(i).getWeight());
+    }
+
+    @Override
+    public String getTotalCostText() {
+        return Long.toString(totalCost);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("MST Result:\n");
+        sb.append("Total Cost: ").append(totalCost).append("\n");
+        sb.append("Operations: ").append(operationsCount).append("\n");
+        sb.append("Execution Time: ").append(String.format("%.2f", executionTimeMs)).append(" ms\n");
+        if (memoryStats != null) {
+            sb.append(memoryStats).append("\n");
+        }
+        sb.append("Edges:\n");
+        for (LongEdge edge : mstEdges) {
+            sb.append("  ").append(edge).append("\n");
+        }
+        return sb.toString();
+    }
+}
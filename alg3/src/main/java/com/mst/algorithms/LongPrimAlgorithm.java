@@ -0,0 +1,91 @@
+package com.mst.algorithms;
+
+import com.mst.graph.LongEdge;
+import com.mst.graph.LongGraph;
+import com.mst.graph.MemoryLayout;
+import java.util.*;
+
+/**
+ * Prim's algorithm specialized for long weights; the heap holds primitive keys, so nothing is boxed
+ */
+public class LongPrimAlgorithm {
+    private int operationsCount;
+
+    public LongMSTResult findMST(LongGraph graph) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
+
+        int n = graph.getVertexCount();
+        List<LongEdge> mstEdges = new ArrayList<>();
+
+        if (n == 0 || !graph.isConnected()) {
+            return new LongMSTResult(mstEdges, 0, operationsCount, 0);
+        }
+
+        boolean[] visited = new boolean[n];
+        PrimitiveHeap heap = new PrimitiveHeap(graph.getEdgeCount());
+
+        // Start with the first vertex
+        visited[0] = true;
+        pushEdges(graph, heap, visited, 0);
+        operationsCount++;
+
+        long totalCost = 0;
+
+        // Build MST
+        while (!heap.isEmpty() && mstEdges.size() < n - 1) {
+            int edge = heap.pop();
+            operationsCount++;
+
+            int next = visited[graph.getFrom(edge)] ? graph.getTo(edge) : graph.getFrom(edge);
+
+            // Skip if already visited
+            if (visited[next]) {
+                operationsCount++;
+                continue;
+            }
+
+            // Add edge to MST
+            mstEdges.add(graph.getEdge(edge));
+            totalCost += graph.getWeight(edge);
+            visited[next] = true;
+            operationsCount += 3;
+
+            pushEdges(graph, heap, visited, next);
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(
+                estimateAuxiliaryBytes(n, graph.getEdgeCount()), allocatedBytes);
+
+        return new LongMSTResult(mstEdges, totalCost, operationsCount, executionTimeMs, memoryStats);
+    }
+
+    private void pushEdges(LongGraph graph, PrimitiveHeap heap, boolean[] visited, int v) {
+        for (int i = graph.getAdjacencyStart(v); i < graph.getAdjacencyStart(v + 1); i++) {
+            int edge = graph.getAdjacentEdge(i);
+            operationsCount++;
+            if (!visited[graph.getOther(edge, v)]) {
+                heap.push(graph.getWeight(edge), edge);
+                operationsCount++;
+            }
+        }
+    }
+
+    /**
+     * Peak auxiliary bytes of a solve on n vertices and m edges: visited flags and the primitive heap
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        return MemoryLayout.array(n, 1)
+                + MemoryLayout.array(m, 8)
+                + MemoryLayout.array(m, 4);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+}
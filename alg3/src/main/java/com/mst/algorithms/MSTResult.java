@@ -6,17 +6,24 @@ import java.util.List;
 /**
  * Result container for MST algorithm execution
  */
-public class MSTResult {
+public class MSTResult implements SpanningTreeResult {
     private final List<Edge> mstEdges;
     private final int totalCost;
     private final int operationsCount;
     private final double executionTimeMs;
+    private final MemoryStats memoryStats;
 
     public MSTResult(List<Edge> mstEdges, int totalCost, int operationsCount, double executionTimeMs) {
+        this(mstEdges, totalCost, operationsCount, executionTimeMs, null);
+    }
+
+    public MSTResult(List<Edge> mstEdges, int totalCost, int operationsCount, double executionTimeMs,
+                     MemoryStats memoryStats) {
         this.mstEdges = mstEdges;
         this.totalCost = totalCost;
         this.operationsCount = operationsCount;
         this.executionTimeMs = executionTimeMs;
+        this.memoryStats = memoryStats;
     }
 
     public List<Edge> getMstEdges() {
@@ -27,14 +34,49 @@ public class MSTResult {
         return totalCost;
     }
 
+    @Override
     public int getOperationsCount() {
         return operationsCount;
     }
 
+    @Override
     public double getExecutionTimeMs() {
         return executionTimeMs;
     }
 
+    /**
+     * Memory footprint of the solve, or null if it was not measured
+     */
+    @Override
+    public MemoryStats getMemoryStats() {
+        return memoryStats;
+    }
+
+    @Override
+    public int getEdgeCount() {
+        return mstEdges.size();
+    }
+
+    @Override
+    public String getEdgeFrom(int i) {
+        return mstEdges.get(i).getFrom();
+    }
+
+    @Override
+    public String getEdgeTo(int i) {
+        return mstEdges.get(i).getTo();
+    }
+
+    @Override
+    public String getEdgeWeightText(int i) {
+        return Integer.toString(mstEdges.get(i).getWeight());
+    }
+
+    @Override
+    public String getTotalCostText() {
+        return Integer.toString(totalCost);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -42,6 +84,9 @@ public class MSTResult {
         sb.append("Total Cost: ").append(totalCost).append("\n");
         sb.append("Operations: ").append(operationsCount).append("\n");
         sb.append("Execution Time: ").append(String.format("%.2f", executionTimeMs)).append(" ms\n");
+        if (memoryStats != null) {
+            sb.append(memoryStats).append("\n");
+        }
         sb.append("Edges:\n");
         for (Edge edge : mstEdges) {
             sb.append("  ").append(edge).append("\n");
@@ -0,0 +1,267 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Edge;
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import java.util.*;
+
+/**
+ * Checks in near-linear time that a result is a minimum spanning tree of a graph.
+ * The tree edges must be edges of the graph and span it without cycles; then every
+ * non-tree edge must be at least as heavy as the heaviest tree edge on the path
+ * between its endpoints. Those path maxima are read off a Kruskal reconstruction
+ * tree of the result with Tarjan's offline LCA, so only the V - 1 tree edges are sorted.
+ * The reported total cost must also be the sum of the tree's edge weights.
+ */
+public class MSTVerifier {
+    private int operationsCount;
+
+    public Report verify(Graph graph, MSTResult result) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+
+        String failure = check(graph.getIndexed(), result.getMstEdges(), result.getTotalCost());
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new Report(failure, operationsCount, executionTimeMs);
+    }
+
+    /**
+     * Return why the tree is not an MST of the graph, or null if it is one
+     */
+    private String check(IndexedGraph graph, List<Edge> treeEdges, int totalCost) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        if (treeEdges.size() != Math.max(0, n - 1)) {
+            return "Tree has " + treeEdges.size() + " edges, expected " + Math.max(0, n - 1);
+        }
+        if (n <= 1) {
+            return totalCost == 0 ? null : "Total cost " + totalCost + " of an edgeless tree, expected 0";
+        }
+
+        // Every tree edge must exist in the graph; a tree edge used twice closes a cycle below
+        int[] treeIds = new int[n - 1];
+        int treeSize = 0;
+        for (Edge edge : treeEdges) {
+            int match = graph.findEdge(edge);
+            operationsCount++;
+            if (match == -1) {
+                return "Tree edge " + edge + " is not an edge of the graph";
+            }
+            treeIds[treeSize++] = match;
+        }
+
+        // n - 1 acyclic edges span the graph
+        int maxTreeWeight = Integer.MIN_VALUE;
+        int treeCost = 0;
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+        }
+        for (int i = 0; i < treeSize; i++) {
+            int e = treeIds[i];
+            int a = find(parent, graph.getFrom(e));
+            int b = find(parent, graph.getTo(e));
+            operationsCount++;
+            if (a == b) {
+                return "Tree edge " + graph.getEdge(e) + " closes a cycle";
+            }
+            parent[a] = b;
+            maxTreeWeight = Math.max(maxTreeWeight, graph.getWeight(e));
+            treeCost += graph.getWeight(e);
+        }
+        // Summed in int like the engines' totals, so both wrap the same way on overflow
+        if (treeCost != totalCost) {
+            return "Total cost " + totalCost + " does not match the tree's edge weights, which sum to "
+                    + treeCost;
+        }
+
+        // Kruskal reconstruction tree: leaves are vertices, internal node n + k joins
+        // two components through the k-th lightest tree edge and carries its weight
+        long[] keys = new long[treeSize];
+        for (int i = 0; i < treeSize; i++) {
+            keys[i] = SolverWorkspace.packKey(graph.getWeight(treeIds[i]), treeIds[i]);
+        }
+        PrimitiveSort.sort(keys, treeSize);
+
+        int nodes = 2 * n - 1;
+        int[] left = new int[n - 1];
+        int[] right = new int[n - 1];
+        int[] nodeWeight = new int[n - 1];
+        int[] top = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+            top[v] = v;
+        }
+        for (int k = 0; k < treeSize; k++) {
+            int e = SolverWorkspace.keyEdge(keys[k]);
+            int a = find(parent, graph.getFrom(e));
+            int b = find(parent, graph.getTo(e));
+            left[k] = top[a];
+            right[k] = top[b];
+            nodeWeight[k] = graph.getWeight(e);
+            parent[a] = b;
+            top[b] = n + k;
+            operationsCount++;
+        }
+
+        // Graph edges become LCA queries attached to both endpoints. Tree edges pass trivially
+        // (their path is the edge itself), and edges at least as heavy as the heaviest tree
+        // edge cannot violate the cycle property, so those are skipped
+        int[] queryStart = new int[n + 1];
+        int queryCount = 0;
+        for (int e = 0; e < m; e++) {
+            if (graph.getWeight(e) < maxTreeWeight && graph.getFrom(e) != graph.getTo(e)) {
+                queryStart[graph.getFrom(e) + 1]++;
+                queryStart[graph.getTo(e) + 1]++;
+                queryCount++;
+            }
+        }
+        operationsCount += m;
+        for (int v = 0; v < n; v++) {
+            queryStart[v + 1] += queryStart[v];
+        }
+        // Each entry stores the other endpoint and the weight, keeping the LCA pass sequential
+        int[] queryOther = new int[2 * queryCount];
+        int[] queryWeight = new int[2 * queryCount];
+        int[] fill = Arrays.copyOf(queryStart, n);
+        for (int e = 0; e < m && queryCount > 0; e++) {
+            int w = graph.getWeight(e);
+            int u = graph.getFrom(e);
+            int v = graph.getTo(e);
+            if (w < maxTreeWeight && u != v) {
+                queryOther[fill[u]] = v;
+                queryWeight[fill[u]++] = w;
+                queryOther[fill[v]] = u;
+                queryWeight[fill[v]++] = w;
+            }
+        }
+
+        // Tarjan's offline LCA over the reconstruction tree, iterative post-order
+        int[] lcaParent = new int[nodes];
+        int[] ancestor = new int[nodes];
+        byte[] rank = new byte[nodes];
+        boolean[] visited = new boolean[n];
+        for (int x = 0; x < nodes; x++) {
+            lcaParent[x] = x;
+            ancestor[x] = x;
+        }
+
+        int[] stack = new int[nodes];
+        byte[] state = new byte[nodes];
+        int sp = 0;
+        stack[sp++] = nodes - 1;
+
+        while (sp > 0) {
+            int x = stack[sp - 1];
+            operationsCount++;
+
+            if (x < n) {
+                // Leaf: answer queries whose other endpoint was already visited
+                visited[x] = true;
+                for (int i = queryStart[x]; i < queryStart[x + 1]; i++) {
+                    int y = queryOther[i];
+                    if (!visited[y]) {
+                        continue;
+                    }
+                    int lca = ancestor[find(lcaParent, y)];
+                    operationsCount++;
+                    if (queryWeight[i] < nodeWeight[lca - n]) {
+                        return "Non-tree edge " + graph.getName(x) + " -- " + graph.getName(y)
+                                + " [" + queryWeight[i] + "] is lighter than the tree path maximum "
+                                + nodeWeight[lca - n];
+                    }
+                }
+                sp--;
+                continue;
+            }
+
+            int k = x - n;
+            if (state[x] == 0) {
+                state[x] = 1;
+                stack[sp++] = left[k];
+            } else if (state[x] == 1) {
+                merge(lcaParent, rank, ancestor, x, left[k]);
+                state[x] = 2;
+                stack[sp++] = right[k];
+            } else {
+                merge(lcaParent, rank, ancestor, x, right[k]);
+                sp--;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Join a finished child subtree into x; its set's ancestor becomes x
+     */
+    private static void merge(int[] parent, byte[] rank, int[] ancestor, int x, int child) {
+        int a = find(parent, x);
+        int b = find(parent, child);
+        if (rank[a] < rank[b]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        } else if (rank[a] == rank[b]) {
+            rank[a]++;
+        }
+        parent[b] = a;
+        ancestor[a] = x;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    /**
+     * Outcome of one verification
+     */
+    public static class Report {
+        private final String failure;
+        private final int operationsCount;
+        private final double executionTimeMs;
+
+        public Report(String failure, int operationsCount, double executionTimeMs) {
+            this.failure = failure;
+            this.operationsCount = operationsCount;
+            this.executionTimeMs = executionTimeMs;
+        }
+
+        public boolean isValid() {
+            return failure == null;
+        }
+
+        /**
+         * Why the result is not an MST, or null if it is one
+         */
+        public String getFailure() {
+            return failure;
+        }
+
+        public int getOperationsCount() {
+            return operationsCount;
+        }
+
+        public double getExecutionTimeMs() {
+            return executionTimeMs;
+        }
+
+        @Override
+        public String toString() {
+            return (failure == null ? "Verified minimum spanning tree" : "Not a minimum spanning tree: " + failure)
+                    + " (" + String.format("%.2f", executionTimeMs) + " ms)";
+        }
+    }
+}
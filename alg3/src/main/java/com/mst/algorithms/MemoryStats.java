@@ -0,0 +1,57 @@
+package com.mst.algorithms;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Memory footprint of one solve: peak bytes of the engine's auxiliary structures
+ * (heap, union-find, sorted copy) and the bytes the solving thread allocated. The
+ * first is a structural estimate; the second comes from the thread allocation
+ * counter and is -1 where the JVM lacks it. The input graph's retained size does
+ * not depend on the engine and is estimated once per graph by GraphSolver.
+ */
+public class MemoryStats {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final long auxiliaryBytes;
+    private final long allocatedBytes;
+
+    public MemoryStats(long auxiliaryBytes, long allocatedBytes) {
+        this.auxiliaryBytes = auxiliaryBytes;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getAuxiliaryBytes() {
+        return auxiliaryBytes;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the counter is unavailable
+     */
+    public static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Bytes the current thread allocated since the given counter reading, or -1
+     */
+    public static long allocatedSince(long before) {
+        return before < 0 ? -1 : threadAllocatedBytes() - before;
+    }
+
+    @Override
+    public String toString() {
+        return "Memory: auxiliary " + auxiliaryBytes
+                + " B, allocated " + (allocatedBytes < 0 ? "n/a" : allocatedBytes + " B");
+    }
+}
@@ -0,0 +1,193 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Turns a multigraph into a simple graph with the same minimum spanning trees:
+ * self-loops are dropped and of every set of parallel edges only the lightest
+ * (the earliest on ties) is kept. Edges are keyed by their (min, max) endpoint
+ * ids and hash-partitioned, so on large graphs every core dedups its own
+ * partition in a private table. Kept edges stay in input order.
+ */
+public class MultigraphReducer {
+    private int operationsCount;
+
+    public Report reduce(Graph graph) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+
+        IndexedGraph indexed = graph.getIndexed();
+        int m = indexed.getEdgeCount();
+        int parts = m >= BoruvkaAlgorithm.PARALLEL_THRESHOLD ? Runtime.getRuntime().availableProcessors() : 1;
+
+        // Canonical pair key per edge; -1 marks a self-loop
+        long[] keys = new long[m];
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            int hi = (int) ((long) m * (p + 1) / parts);
+            for (int e = (int) ((long) m * p / parts); e < hi; e++) {
+                int u = indexed.getFrom(e);
+                int v = indexed.getTo(e);
+                keys[e] = u == v ? -1 : ((long) Math.min(u, v) << 32) | Math.max(u, v);
+            }
+        });
+        operationsCount += m;
+
+        // Scatter edge ids into partitions by key hash, keeping input order within each
+        int[] partStart = new int[parts + 1];
+        int selfLoops = 0;
+        for (int e = 0; e < m; e++) {
+            if (keys[e] == -1) {
+                selfLoops++;
+            } else {
+                partStart[partition(keys[e], parts) + 1]++;
+            }
+        }
+        for (int p = 0; p < parts; p++) {
+            partStart[p + 1] += partStart[p];
+        }
+        int[] bucketed = new int[m - selfLoops];
+        int[] fill = new int[parts];
+        System.arraycopy(partStart, 0, fill, 0, parts);
+        for (int e = 0; e < m; e++) {
+            if (keys[e] != -1) {
+                bucketed[fill[partition(keys[e], parts)]++] = e;
+            }
+        }
+        operationsCount += m;
+
+        boolean[] keep = new boolean[m];
+        IntStream.range(0, parts).parallel().forEach(p ->
+                dedup(indexed, keys, bucketed, partStart[p], partStart[p + 1], keep));
+        operationsCount += bucketed.length;
+
+        int kept = 0;
+        for (int e = 0; e < m; e++) {
+            if (keep[e]) {
+                kept++;
+            }
+        }
+
+        Graph reduced = graph;
+        if (kept < m) {
+            reduced = graph.filterEdges(keep);
+            operationsCount += kept;
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new Report(reduced, m, selfLoops, m - selfLoops - kept, operationsCount, executionTimeMs);
+    }
+
+    /**
+     * Keep the lightest edge of every pair in bucketed[lo, hi), using an open-addressing table
+     */
+    private static void dedup(IndexedGraph graph, long[] keys, int[] bucketed, int lo, int hi, boolean[] keep) {
+        int capacity = Integer.highestOneBit(Math.max(1, 2 * (hi - lo) - 1)) << 1;
+        long[] tableKeys = new long[capacity];
+        int[] tableEdges = new int[capacity];
+        Arrays.fill(tableEdges, -1);
+        int mask = capacity - 1;
+
+        for (int i = lo; i < hi; i++) {
+            int e = bucketed[i];
+            long key = keys[e];
+            int slot = (int) mix(key) & mask;
+            while (tableEdges[slot] != -1 && tableKeys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            // Edges arrive in input order, so only a strictly lighter one displaces the kept edge
+            if (tableEdges[slot] == -1) {
+                tableKeys[slot] = key;
+                tableEdges[slot] = e;
+            } else if (graph.getWeight(e) < graph.getWeight(tableEdges[slot])) {
+                tableEdges[slot] = e;
+            }
+        }
+
+        for (int slot = 0; slot < capacity; slot++) {
+            if (tableEdges[slot] != -1) {
+                keep[tableEdges[slot]] = true;
+            }
+        }
+    }
+
+    private static int partition(long key, int parts) {
+        return (int) (((mix(key) >>> 32) * parts) >>> 32);
+    }
+
+    private static long mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return key ^ (key >>> 29);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    /**
+     * The reduced graph and how many edges were removed to get it
+     */
+    public static class Report {
+        private final Graph graph;
+        private final int inputEdges;
+        private final int selfLoops;
+        private final int parallelEdges;
+        private final int operationsCount;
+        private final double executionTimeMs;
+
+        Report(Graph graph, int inputEdges, int selfLoops, int parallelEdges,
+               int operationsCount, double executionTimeMs) {
+            this.graph = graph;
+            this.inputEdges = inputEdges;
+            this.selfLoops = selfLoops;
+            this.parallelEdges = parallelEdges;
+            this.operationsCount = operationsCount;
+            this.executionTimeMs = executionTimeMs;
+        }
+
+        /**
+         * The simple graph; the input graph itself when nothing was removed
+         */
+        public Graph getGraph() {
+            return graph;
+        }
+
+        public int getInputEdges() {
+            return inputEdges;
+        }
+
+        public int getSelfLoops() {
+            return selfLoops;
+        }
+
+        /**
+         * Heavier duplicates of an endpoint pair that were dropped
+         */
+        public int getParallelEdges() {
+            return parallelEdges;
+        }
+
+        public int getRemovedEdges() {
+            return selfLoops + parallelEdges;
+        }
+
+        public int getOperationsCount() {
+            return operationsCount;
+        }
+
+        public double getExecutionTimeMs() {
+            return executionTimeMs;
+        }
+
+        @Override
+        public String toString() {
+            return "Reduced " + inputEdges + " edges to " + (inputEdges - getRemovedEdges())
+                    + ": removed " + parallelEdges + " parallel edges and " + selfLoops + " self-loops ("
+                    + String.format("%.2f", executionTimeMs) + " ms)";
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Edge;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Index over a computed MST answering "heaviest edge on the tree path between u and v"
+ * in O(log V) with binary lifting. In an MST this edge is also the bottleneck of the
+ * minimax path between u and v in the original graph.
+ */
+public class PathMaxIndex {
+    private static final int PARALLEL_BATCH = 1 << 12;
+
+    private final Map<String, Integer> index;
+    private final Edge[] treeEdges;
+    private final int[] weights;
+    private final int[] depth;
+    private final int[] root;
+    // up[k][v] is the 2^k-th ancestor of v; maxEdge[k][v] the heaviest edge on that jump
+    private final int[][] up;
+    private final int[][] maxEdge;
+
+    public PathMaxIndex(MSTResult result) {
+        this(result, Collections.emptyList());
+    }
+
+    /**
+     * Index the tree over the given vertices, so vertices without tree edges
+     * (a single-vertex graph) can be queried as well
+     */
+    public PathMaxIndex(MSTResult result, Collection<String> vertices) {
+        List<Edge> edges = result.getMstEdges();
+        index = new HashMap<>();
+        for (String vertex : vertices) {
+            index.putIfAbsent(vertex, index.size());
+        }
+        for (Edge edge : edges) {
+            index.putIfAbsent(edge.getFrom(), index.size());
+            index.putIfAbsent(edge.getTo(), index.size());
+        }
+
+        int n = index.size();
+        treeEdges = edges.toArray(new Edge[0]);
+        weights = new int[treeEdges.length];
+
+        int[] ends = new int[2 * treeEdges.length];
+        for (int e = 0; e < treeEdges.length; e++) {
+            ends[2 * e] = index.get(treeEdges[e].getFrom());
+            ends[2 * e + 1] = index.get(treeEdges[e].getTo());
+            weights[e] = treeEdges[e].getWeight();
+        }
+
+        // Adjacency of the tree as edge indices
+        int[] degree = new int[n + 1];
+        for (int end : ends) {
+            degree[end + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            degree[v + 1] += degree[v];
+        }
+        int[] adjacent = new int[2 * treeEdges.length];
+        int[] fill = Arrays.copyOf(degree, n);
+        for (int i = 0; i < ends.length; i++) {
+            adjacent[fill[ends[i]]++] = i / 2;
+        }
+
+        int levels = 1;
+        while ((1 << levels) < n) {
+            levels++;
+        }
+        up = new int[levels][n];
+        maxEdge = new int[levels][n];
+        depth = new int[n];
+        root = new int[n];
+        Arrays.fill(root, -1);
+
+        // Iterative DFS from every unvisited vertex, so forests are handled too
+        int[] stack = new int[n];
+        for (int start = 0; start < n; start++) {
+            if (root[start] != -1) {
+                continue;
+            }
+            root[start] = start;
+            up[0][start] = start;
+            maxEdge[0][start] = -1;
+            int top = 0;
+            stack[top++] = start;
+
+            while (top > 0) {
+                int v = stack[--top];
+                for (int i = degree[v]; i < degree[v + 1]; i++) {
+                    int e = adjacent[i];
+                    int u = ends[2 * e] == v ? ends[2 * e + 1] : ends[2 * e];
+                    if (root[u] != -1) {
+                        continue;
+                    }
+                    root[u] = start;
+                    depth[u] = depth[v] + 1;
+                    up[0][u] = v;
+                    maxEdge[0][u] = e;
+                    stack[top++] = u;
+                }
+            }
+        }
+
+        for (int k = 1; k < levels; k++) {
+            for (int v = 0; v < n; v++) {
+                int mid = up[k - 1][v];
+                up[k][v] = up[k - 1][mid];
+                maxEdge[k][v] = heavier(maxEdge[k - 1][v], maxEdge[k - 1][mid]);
+            }
+        }
+    }
+
+    /**
+     * Heaviest tree edge on the path between u and v, or null when u equals v
+     */
+    public Edge maxEdge(String u, String v) {
+        if (u.equals(v)) {
+            return null;
+        }
+        int e = maxEdgeIndex(vertexIndex(u), vertexIndex(v));
+        return e == -1 ? null : treeEdges[e];
+    }
+
+    /**
+     * Bottleneck weight between u and v (0 when u equals v)
+     */
+    public int pathMax(String u, String v) {
+        Edge edge = maxEdge(u, v);
+        return edge == null ? 0 : edge.getWeight();
+    }
+
+    /**
+     * Whether adding a (u, v) link of the given weight would make a cheaper spanning tree
+     */
+    public boolean improvesTree(String u, String v, int weight) {
+        Edge edge = maxEdge(u, v);
+        return edge != null && weight < edge.getWeight();
+    }
+
+    /**
+     * Answer many path-maximum queries at once; large batches are split across cores
+     */
+    public Edge[] maxEdges(String[] us, String[] vs) {
+        if (us.length != vs.length) {
+            throw new IllegalArgumentException("Query endpoint arrays differ in length");
+        }
+
+        Edge[] answers = new Edge[us.length];
+        IntStream queries = IntStream.range(0, us.length);
+        if (us.length >= PARALLEL_BATCH) {
+            queries = queries.parallel();
+        }
+        queries.forEach(q -> answers[q] = maxEdge(us[q], vs[q]));
+        return answers;
+    }
+
+    private int maxEdgeIndex(int u, int v) {
+        if (root[u] != root[v]) {
+            throw new IllegalArgumentException("Vertices are not connected by the tree");
+        }
+
+        int best = -1;
+        if (depth[u] < depth[v]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+
+        // Lift u to the depth of v
+        int diff = depth[u] - depth[v];
+        for (int k = 0; diff > 0; k++, diff >>= 1) {
+            if ((diff & 1) != 0) {
+                best = heavier(best, maxEdge[k][u]);
+                u = up[k][u];
+            }
+        }
+
+        if (u == v) {
+            return best;
+        }
+
+        for (int k = up.length - 1; k >= 0; k--) {
+            if (up[k][u] != up[k][v]) {
+                best = heavier(best, heavier(maxEdge[k][u], maxEdge[k][v]));
+                u = up[k][u];
+                v = up[k][v];
+            }
+        }
+
+        return heavier(best, heavier(maxEdge[0][u], maxEdge[0][v]));
+    }
+
+    private int vertexIndex(String vertex) {
+        Integer i = index.get(vertex);
+        if (i == null) {
+            throw new IllegalArgumentException("Vertex not in tree: " + vertex);
+        }
+        return i;
+    }
+
+    private int heavier(int a, int b) {
+        if (a == -1) return b;
+        if (b == -1) return a;
+        return weights[b] > weights[a] ? b : a;
+    }
+}
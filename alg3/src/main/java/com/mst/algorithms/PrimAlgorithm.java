@@ -2,6 +2,8 @@ package com.mst.algorithms;
 
 import com.mst.graph.Edge;
 import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import com.mst.graph.MemoryLayout;
 import java.util.*;
 
 /**
@@ -11,63 +13,108 @@ public class PrimAlgorithm {
     private int operationsCount;
 
     public MSTResult findMST(Graph graph) {
-        operationsCount = 0;
+        return findMST(graph, new SolverWorkspace());
+    }
+
+    /**
+     * Find the MST reusing the caller's workspace; only the returned MSTResult is allocated
+     */
+    public MSTResult findMST(Graph graph, SolverWorkspace workspace) {
         long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
 
-        Set<String> vertices = graph.getVertices();
+        IndexedGraph indexed = graph.getIndexed();
+        solve(indexed, workspace);
 
-        if (vertices.isEmpty() || !graph.isConnected()) {
-            return new MSTResult(new ArrayList<>(), 0, operationsCount, 0);
+        List<Edge> mstEdges = new ArrayList<>(workspace.getResultSize());
+        for (int i = 0; i < workspace.getResultSize(); i++) {
+            mstEdges.add(indexed.getEdge(workspace.getResultEdge(i)));
         }
 
-        List<Edge> mstEdges = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        PriorityQueue<Edge> pq = new PriorityQueue<>();
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(
+                estimateAuxiliaryBytes(indexed.getVertexCount(), indexed.getEdgeCount()), allocatedBytes);
+
+        return new MSTResult(mstEdges, workspace.getTotalCost(), operationsCount, executionTimeMs,
+                memoryStats);
+    }
+
+    /**
+     * Allocation-free core: leaves the tree edge ids and total cost in the workspace.
+     * A disconnected graph yields an empty result.
+     */
+    public void solve(IndexedGraph graph, SolverWorkspace workspace) {
+        operationsCount = 0;
+
+        int n = graph.getVertexCount();
+        workspace.prepare(n, graph.getEdgeCount());
+
+        if (n == 0) {
+            return;
+        }
 
         // Start with the first vertex
-        String start = vertices.iterator().next();
-        visited.add(start);
-        pq.addAll(graph.getAdjacentEdges(start));
+        workspace.markVisited(0);
+        pushEdges(graph, workspace, 0);
+        int visitedCount = 1;
         operationsCount++;
 
-        int totalCost = 0;
-
         // Build MST
-        while (!pq.isEmpty() && visited.size() < vertices.size()) {
-            Edge edge = pq.poll();
+        while (workspace.heapSize > 0 && visitedCount < n) {
+            int edge = SolverWorkspace.keyEdge(workspace.heapPop());
             operationsCount++;
 
-            String to = edge.getTo();
-
-            // Skip if already visited
-            if (visited.contains(to)) {
+            // Skip if both ends are already in the tree
+            int next = workspace.isVisited(graph.getFrom(edge)) ? graph.getTo(edge) : graph.getFrom(edge);
+            if (workspace.isVisited(next)) {
                 operationsCount++;
                 continue;
             }
 
             // Add edge to MST
-            mstEdges.add(edge);
-            totalCost += edge.getWeight();
-            visited.add(to);
+            workspace.resultEdges[workspace.resultSize++] = edge;
+            workspace.totalCost += graph.getWeight(edge);
+            workspace.markVisited(next);
+            visitedCount++;
             operationsCount += 3;
 
-            // Add all edges from the new vertex
-            for (Edge adjacentEdge : graph.getAdjacentEdges(to)) {
+            pushEdges(graph, workspace, next);
+        }
+
+        if (visitedCount < n) {
+            workspace.resultSize = 0;
+            workspace.totalCost = 0;
+        }
+    }
+
+    /**
+     * Push every edge from v to an unvisited vertex; each edge is pushed at most once
+     */
+    private void pushEdges(IndexedGraph graph, SolverWorkspace workspace, int v) {
+        int end = graph.getAdjacencyStart(v + 1);
+        for (int i = graph.getAdjacencyStart(v); i < end; i++) {
+            int edge = graph.getAdjacentEdge(i);
+            operationsCount++;
+            if (!workspace.isVisited(graph.getOther(edge, v))) {
+                workspace.heapPush(SolverWorkspace.packKey(graph.getWeight(edge), edge));
                 operationsCount++;
-                if (!visited.contains(adjacentEdge.getTo())) {
-                    pq.offer(adjacentEdge);
-                    operationsCount++;
-                }
             }
         }
+    }
 
-        long endTime = System.nanoTime();
-        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
-
-        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs);
+    /**
+     * Peak auxiliary bytes of a solve on n vertices and m edges: heap of packed keys, visited bitset and tree edge buffer
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        return MemoryLayout.array(m, 8)
+                + MemoryLayout.array((n + 63) >>> 6, 8)
+                + MemoryLayout.array(n, 4);
     }
 
     public int getOperationsCount() {
         return operationsCount;
     }
-}
\ No newline at end of file
+}
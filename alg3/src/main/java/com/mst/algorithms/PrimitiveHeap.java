@@ -0,0 +1,62 @@
+package com.mst.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of (long key, int value) pairs in parallel primitive arrays
+ */
+final class PrimitiveHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    PrimitiveHeap(int capacity) {
+        keys = new long[Math.max(1, capacity)];
+        values = new int[Math.max(1, capacity)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+
+        int i = size++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (keys[up] <= key) break;
+            keys[i] = keys[up];
+            values[i] = values[up];
+            i = up;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Remove the entry with the smallest key and return its value
+     */
+    int pop() {
+        int top = values[0];
+        long lastKey = keys[--size];
+        int lastValue = values[size];
+
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (lastKey <= keys[child]) break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        values[i] = lastValue;
+        return top;
+    }
+}
@@ -0,0 +1,187 @@
+package com.mst.algorithms;
+
+/**
+ * In-place sort of primitive keys that never allocates.
+ * Quicksort with median-of-three pivots, insertion sort for short ranges and
+ * heapsort once recursion gets too deep, so the worst case stays O(n log n).
+ */
+final class PrimitiveSort {
+    private static final int INSERTION_THRESHOLD = 24;
+
+    private PrimitiveSort() {
+    }
+
+    /**
+     * Sort a[0..n) ascending
+     */
+    static void sort(long[] a, int n) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, n)));
+        quickSort(a, 0, n - 1, depthLimit);
+    }
+
+    private static void quickSort(long[] a, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < a[lo]) swap(a, mid, lo);
+            if (a[hi] < a[lo]) swap(a, hi, lo);
+            if (a[hi] < a[mid]) swap(a, hi, mid);
+            long pivot = a[mid];
+
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    swap(a, i++, j--);
+                }
+            }
+
+            // Recurse into the smaller side, loop on the larger one
+            if (j - lo < hi - i) {
+                quickSort(a, lo, j, depth);
+                lo = i;
+            } else {
+                quickSort(a, i, hi, depth);
+                hi = j;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    private static void insertionSort(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > key) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    private static void heapSort(long[] a, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(a, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(a, lo, lo + end);
+            siftDown(a, lo, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] a, int lo, int i, int n) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) return;
+            if (child + 1 < n && a[lo + child + 1] > a[lo + child]) child++;
+            if (a[lo + i] >= a[lo + child]) return;
+            swap(a, lo + i, lo + child);
+            i = child;
+        }
+    }
+
+    /**
+     * Sort ids[0..n) by (keys[id], id) ascending, leaving keys untouched
+     */
+    static void sortIndices(int[] ids, long[] keys, int n) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, n)));
+        quickSortIndices(ids, keys, 0, n - 1, depthLimit);
+    }
+
+    /**
+     * Map a double to a long whose signed order matches the double's order
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static boolean less(int a, int b, long[] keys) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && a < b);
+    }
+
+    private static void quickSortIndices(int[] ids, long[] keys, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSortIndices(ids, keys, lo, hi);
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            if (less(ids[mid], ids[lo], keys)) swap(ids, mid, lo);
+            if (less(ids[hi], ids[lo], keys)) swap(ids, hi, lo);
+            if (less(ids[hi], ids[mid], keys)) swap(ids, hi, mid);
+            int pivot = ids[mid];
+
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (less(ids[i], pivot, keys)) i++;
+                while (less(pivot, ids[j], keys)) j--;
+                if (i <= j) {
+                    swap(ids, i++, j--);
+                }
+            }
+
+            if (j - lo < hi - i) {
+                quickSortIndices(ids, keys, lo, j, depth);
+                lo = i;
+            } else {
+                quickSortIndices(ids, keys, i, hi, depth);
+                hi = j;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= lo && less(id, ids[j], keys)) {
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            ids[j + 1] = id;
+        }
+    }
+
+    private static void heapSortIndices(int[] ids, long[] keys, int lo, int hi) {
+        int n = hi - lo + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownIndices(ids, keys, lo, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(ids, lo, lo + end);
+            siftDownIndices(ids, keys, lo, 0, end);
+        }
+    }
+
+    private static void siftDownIndices(int[] ids, long[] keys, int lo, int i, int n) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) return;
+            if (child + 1 < n && less(ids[lo + child], ids[lo + child + 1], keys)) child++;
+            if (!less(ids[lo + i], ids[lo + child], keys)) return;
+            swap(ids, lo + i, lo + child);
+            i = child;
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        long tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+}
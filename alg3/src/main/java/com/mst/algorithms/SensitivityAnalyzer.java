@@ -0,0 +1,228 @@
+package com.mst.algorithms;
+
+import com.mst.graph.Edge;
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import java.util.*;
+
+/**
+ * Computes, for every edge, the range of weights over which a given MST stays minimal.
+ * A non-tree edge may drop to the heaviest tree edge on the path it closes (PathMaxIndex).
+ * A tree edge may rise to its cheapest replacement: non-tree edges are taken in weight
+ * order and each claims the still-unclaimed tree edges on its path, jumping over claimed
+ * ones with a union-find, so the whole pass is O(E log E) for the sort plus O(E α(V)).
+ */
+public class SensitivityAnalyzer {
+    private int operationsCount;
+
+    public Report analyze(Graph graph, MSTResult result) {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+
+        IndexedGraph indexed = graph.getIndexed();
+        int m = indexed.getEdgeCount();
+
+        boolean[] inTree = new boolean[m];
+        for (Edge edge : result.getMstEdges()) {
+            int e = indexed.findEdge(edge);
+            if (e == -1) {
+                throw new IllegalArgumentException("Tree edge " + edge + " is not an edge of the graph");
+            }
+            inTree[e] = true;
+            operationsCount++;
+        }
+
+        boolean[] bounded = new boolean[m];
+        int[] bound = new int[m];
+        pathMaxima(indexed, result, inTree, bounded, bound);
+        replacements(indexed, inTree, bounded, bound);
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new Report(indexed, inTree, bounded, bound, operationsCount, executionTimeMs);
+    }
+
+    /**
+     * Lower bound of every non-tree edge: the heaviest tree edge on the path it closes
+     */
+    private void pathMaxima(IndexedGraph graph, MSTResult result, boolean[] inTree,
+                            boolean[] bounded, int[] bound) {
+        int m = graph.getEdgeCount();
+        // Self-loops close no path and never enter the tree at any weight, so they stay unbounded
+        int queryCount = 0;
+        for (int e = 0; e < m; e++) {
+            if (!inTree[e] && graph.getFrom(e) != graph.getTo(e)) {
+                queryCount++;
+            }
+        }
+
+        int[] ids = new int[queryCount];
+        String[] us = new String[queryCount];
+        String[] vs = new String[queryCount];
+        int q = 0;
+        for (int e = 0; e < m; e++) {
+            if (!inTree[e] && graph.getFrom(e) != graph.getTo(e)) {
+                ids[q] = e;
+                us[q] = graph.getName(graph.getFrom(e));
+                vs[q] = graph.getName(graph.getTo(e));
+                q++;
+            }
+        }
+
+        Edge[] maxima = new PathMaxIndex(result).maxEdges(us, vs);
+        for (int i = 0; i < queryCount; i++) {
+            bounded[ids[i]] = true;
+            bound[ids[i]] = maxima[i].getWeight();
+        }
+        operationsCount += queryCount;
+    }
+
+    /**
+     * Upper bound of every tree edge: the lightest non-tree edge whose path covers it
+     */
+    private void replacements(IndexedGraph graph, boolean[] inTree, boolean[] bounded, int[] bound) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        // Root every tree of the forest; parentEdge[v] is the tree edge to v's parent
+        int[] parent = new int[n];
+        int[] parentEdge = new int[n];
+        int[] depth = new int[n];
+        Arrays.fill(parent, -2);
+        int[] queue = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (parent[root] != -2) {
+                continue;
+            }
+            parent[root] = -1;
+            parentEdge[root] = -1;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int i = graph.getAdjacencyStart(v); i < graph.getAdjacencyStart(v + 1); i++) {
+                    int e = graph.getAdjacentEdge(i);
+                    int u = graph.getOther(e, v);
+                    operationsCount++;
+                    if (inTree[e] && parent[u] == -2) {
+                        parent[u] = v;
+                        parentEdge[u] = e;
+                        depth[u] = depth[v] + 1;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+
+        long[] keys = new long[m];
+        int keyCount = 0;
+        for (int e = 0; e < m; e++) {
+            if (!inTree[e] && graph.getFrom(e) != graph.getTo(e)) {
+                keys[keyCount++] = SolverWorkspace.packKey(graph.getWeight(e), e);
+            }
+        }
+        PrimitiveSort.sort(keys, keyCount);
+
+        // jump[v] leads to the deepest ancestor-or-self whose parent edge is still unclaimed
+        int[] jump = new int[n];
+        for (int v = 0; v < n; v++) {
+            jump[v] = v;
+        }
+
+        for (int i = 0; i < keyCount; i++) {
+            int e = SolverWorkspace.keyEdge(keys[i]);
+            int a = find(jump, graph.getFrom(e));
+            int b = find(jump, graph.getTo(e));
+            operationsCount++;
+
+            while (a != b) {
+                if (depth[a] < depth[b]) {
+                    int tmp = a;
+                    a = b;
+                    b = tmp;
+                }
+                if (parent[a] < 0) {
+                    // Endpoints lie in different trees of a forest
+                    break;
+                }
+                bounded[parentEdge[a]] = true;
+                bound[parentEdge[a]] = graph.getWeight(e);
+                jump[a] = parent[a];
+                a = find(jump, a);
+                operationsCount++;
+            }
+        }
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    /**
+     * Weight tolerance of every graph edge, in IndexedGraph edge order.
+     * The MST stays minimal while a tree edge weighs at most its bound, and while a
+     * non-tree edge weighs at least its bound; edges without a bound never change the tree.
+     */
+    public static class Report {
+        private final IndexedGraph graph;
+        private final boolean[] inTree;
+        private final boolean[] bounded;
+        private final int[] bound;
+        private final int operationsCount;
+        private final double executionTimeMs;
+
+        Report(IndexedGraph graph, boolean[] inTree, boolean[] bounded, int[] bound,
+               int operationsCount, double executionTimeMs) {
+            this.graph = graph;
+            this.inTree = inTree;
+            this.bounded = bounded;
+            this.bound = bound;
+            this.operationsCount = operationsCount;
+            this.executionTimeMs = executionTimeMs;
+        }
+
+        public int getEdgeCount() {
+            return inTree.length;
+        }
+
+        public Edge getEdge(int i) {
+            return graph.getEdge(i);
+        }
+
+        public boolean isTreeEdge(int i) {
+            return inTree[i];
+        }
+
+        /**
+         * Whether the edge's weight can change far enough to change the tree
+         */
+        public boolean hasBound(int i) {
+            return bounded[i];
+        }
+
+        /**
+         * Highest weight for a tree edge, lowest weight for a non-tree edge
+         */
+        public int getBound(int i) {
+            return bound[i];
+        }
+
+        public int getOperationsCount() {
+            return operationsCount;
+        }
+
+        public double getExecutionTimeMs() {
+            return executionTimeMs;
+        }
+    }
+}
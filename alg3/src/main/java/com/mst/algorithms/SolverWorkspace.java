@@ -0,0 +1,121 @@
+package com.mst.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch memory for the Prim and Kruskal engines.
+ * Holds the heap, visited bitset, union-find arrays, sort keys and the output
+ * buffer; arrays only grow, so once warmed up a solve allocates nothing.
+ * A workspace is not thread-safe: keep one per thread.
+ */
+public class SolverWorkspace {
+    // Binary min-heap of packed (weight, edge id) keys
+    long[] heap = new long[0];
+    int heapSize;
+
+    long[] visited = new long[0];
+    int[] parent = new int[0];
+    int[] rank = new int[0];
+    long[] sortKeys = new long[0];
+
+    int[] resultEdges = new int[0];
+    int resultSize;
+    int totalCost;
+
+    /**
+     * Make room for a graph with n vertices and m edges and clear per-solve state
+     */
+    void prepare(int n, int m) {
+        if (visited.length < (n + 63) >>> 6) {
+            visited = new long[(n + 63) >>> 6];
+        }
+        if (parent.length < n) {
+            parent = new int[n];
+            rank = new int[n];
+        }
+        if (resultEdges.length < n) {
+            resultEdges = new int[n];
+        }
+        if (heap.length < m) {
+            heap = new long[m];
+            sortKeys = new long[m];
+        }
+
+        Arrays.fill(visited, 0, (n + 63) >>> 6, 0L);
+        heapSize = 0;
+        resultSize = 0;
+        totalCost = 0;
+    }
+
+    /**
+     * Number of tree edges produced by the last solve
+     */
+    public int getResultSize() {
+        return resultSize;
+    }
+
+    /**
+     * Edge id (see IndexedGraph) of the i-th tree edge of the last solve
+     */
+    public int getResultEdge(int i) {
+        return resultEdges[i];
+    }
+
+    public int getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Pack a weight and edge id into one key ordered by weight, then id
+     */
+    static long packKey(int weight, int edge) {
+        return ((long) weight << 32) | (edge & 0xffffffffL);
+    }
+
+    static int keyEdge(long key) {
+        return (int) key;
+    }
+
+    boolean isVisited(int v) {
+        return (visited[v >>> 6] & (1L << v)) != 0;
+    }
+
+    void markVisited(int v) {
+        visited[v >>> 6] |= 1L << v;
+    }
+
+    void heapPush(long key) {
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heap[up] <= key) break;
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = key;
+    }
+
+    long heapPop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+
+    int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mst.algorithms;
+
+/**
+ * Read-only view of an MST result shared by the int, long and double engines,
+ * used when writing output; weights are exposed as formatted text so no boxing is needed
+ */
+public interface SpanningTreeResult {
+
+    /**
+     * Number of edges in the tree
+     */
+    int getEdgeCount();
+
+    String getEdgeFrom(int i);
+
+    String getEdgeTo(int i);
+
+    String getEdgeWeightText(int i);
+
+    String getTotalCostText();
+
+    int getOperationsCount();
+
+    double getExecutionTimeMs();
+
+    MemoryStats getMemoryStats();
+}
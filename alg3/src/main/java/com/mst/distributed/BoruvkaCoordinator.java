@@ -0,0 +1,324 @@
+package com.mst.distributed;
+
+import com.mst.algorithms.MSTResult;
+import com.mst.algorithms.MemoryStats;
+import com.mst.graph.Edge;
+import com.mst.graph.Graph;
+import com.mst.graph.IndexedGraph;
+import com.mst.graph.MemoryLayout;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.util.*;
+
+/**
+ * Coordinator of a distributed Borůvka solve. Vertices are split into contiguous
+ * ranges, one per worker, and every edge is shipped once to the owner of its
+ * smaller endpoint, so each worker scans only its share of the edges.
+ * Each round the workers report the cheapest edge they hold leaving every
+ * component; the coordinator keeps the overall cheapest, merges along it and
+ * broadcasts only the merges. Ties are broken by edge index, as in BoruvkaAlgorithm.
+ *
+ * This spreads the per-round scans over processes; it does not yet solve graphs
+ * larger than one JVM. The coordinator holds the whole Graph and its indexed view,
+ * and every worker keeps union-find and candidate arrays sized to the full vertex
+ * count, so only the edge storage is divided.
+ */
+public class BoruvkaCoordinator implements Closeable {
+    private final List<WorkerConnection> workers;
+    private int operationsCount;
+
+    private BoruvkaCoordinator(List<WorkerConnection> workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Start the given number of worker processes on this machine
+     */
+    public static BoruvkaCoordinator spawnLocal(int count) throws IOException {
+        List<WorkerConnection> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                workers.add(WorkerConnection.spawn());
+            }
+        } catch (IOException e) {
+            closeAll(workers);
+            throw e;
+        }
+        return new BoruvkaCoordinator(workers);
+    }
+
+    /**
+     * Use workers that are already listening at the given addresses
+     */
+    public static BoruvkaCoordinator connect(List<InetSocketAddress> addresses) throws IOException {
+        List<WorkerConnection> workers = new ArrayList<>();
+        try {
+            for (InetSocketAddress address : addresses) {
+                workers.add(WorkerConnection.connect(address));
+            }
+        } catch (IOException e) {
+            closeAll(workers);
+            throw e;
+        }
+        return new BoruvkaCoordinator(workers);
+    }
+
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    /**
+     * Solve one graph on the workers, appending per-round statistics to the given list.
+     * Round 0 is the distribution of the edges. Workers are used by one solve at a time.
+     */
+    public synchronized MSTResult findMST(Graph graph, List<RoundStats> rounds) throws IOException {
+        operationsCount = 0;
+        long startTime = System.nanoTime();
+        long allocatedBefore = MemoryStats.threadAllocatedBytes();
+
+        IndexedGraph indexed = graph.getIndexed();
+        int n = indexed.getVertexCount();
+        int m = indexed.getEdgeCount();
+
+        long roundStart = System.nanoTime();
+        long[] before = traffic();
+        distribute(indexed);
+        rounds.add(roundStats(0, n, 0, before, roundStart));
+
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+        }
+        int[] bestEdge = new int[n];
+        int[] bestWeight = new int[n];
+        Arrays.fill(bestEdge, -1);
+        int[] touched = new int[n];
+        int[] mergeFrom = new int[Math.max(0, n - 1)];
+        int[] mergeTo = new int[Math.max(0, n - 1)];
+        int mergeCount = 0;
+
+        List<Edge> mstEdges = new ArrayList<>();
+        int totalCost = 0;
+        int components = n;
+
+        for (int round = 1; components > 1; round++) {
+            roundStart = System.nanoTime();
+            before = traffic();
+
+            // Send last round's merges to every worker first, so they all scan at once
+            for (WorkerConnection worker : workers) {
+                worker.out.writeByte(BoruvkaWorker.ROUND);
+                worker.out.writeInt(mergeCount);
+                for (int i = 0; i < mergeCount; i++) {
+                    worker.out.writeInt(mergeFrom[i]);
+                    worker.out.writeInt(mergeTo[i]);
+                }
+                worker.out.flush();
+            }
+
+            int touchedCount = 0;
+            for (WorkerConnection worker : workers) {
+                int candidates = worker.in.readInt();
+                for (int i = 0; i < candidates; i++) {
+                    int c = worker.in.readInt();
+                    int e = worker.in.readInt();
+                    int w = worker.in.readInt();
+                    operationsCount++;
+                    if (bestEdge[c] == -1) {
+                        touched[touchedCount++] = c;
+                    } else if (w > bestWeight[c] || (w == bestWeight[c] && e > bestEdge[c])) {
+                        continue;
+                    }
+                    bestEdge[c] = e;
+                    bestWeight[c] = w;
+                }
+            }
+
+            int componentsBefore = components;
+            mergeCount = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int c = touched[i];
+                int e = bestEdge[c];
+                bestEdge[c] = -1;
+                int u = indexed.getFrom(e);
+                int v = indexed.getTo(e);
+                operationsCount++;
+
+                if (BoruvkaWorker.union(parent, u, v)) {
+                    mstEdges.add(indexed.getEdge(e));
+                    totalCost += indexed.getWeight(e);
+                    mergeFrom[mergeCount] = u;
+                    mergeTo[mergeCount] = v;
+                    mergeCount++;
+                    components--;
+                }
+            }
+            rounds.add(roundStats(round, componentsBefore, mergeCount, before, roundStart));
+
+            // No component has an outgoing edge left: the graph is not connected
+            if (mergeCount == 0) {
+                break;
+            }
+        }
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        long allocatedBytes = MemoryStats.allocatedSince(allocatedBefore);
+        MemoryStats memoryStats = new MemoryStats(estimateAuxiliaryBytes(n, m), allocatedBytes);
+
+        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs, memoryStats);
+    }
+
+    /**
+     * Ship every edge except self-loops to the worker that owns its smaller endpoint
+     */
+    private void distribute(IndexedGraph graph) throws IOException {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        int[] counts = new int[workers.size()];
+        for (int e = 0; e < m; e++) {
+            if (graph.getFrom(e) != graph.getTo(e)) {
+                counts[owner(Math.min(graph.getFrom(e), graph.getTo(e)), n)]++;
+            }
+        }
+
+        for (int k = 0; k < workers.size(); k++) {
+            DataOutputStream out = workers.get(k).out;
+            out.writeByte(BoruvkaWorker.GRAPH);
+            out.writeInt(n);
+            out.writeInt(counts[k]);
+        }
+        for (int e = 0; e < m; e++) {
+            int u = graph.getFrom(e);
+            int v = graph.getTo(e);
+            if (u == v) {
+                continue;
+            }
+            DataOutputStream out = workers.get(owner(Math.min(u, v), n)).out;
+            out.writeInt(e);
+            out.writeInt(u);
+            out.writeInt(v);
+            out.writeInt(graph.getWeight(e));
+            operationsCount++;
+        }
+        for (WorkerConnection worker : workers) {
+            worker.out.flush();
+        }
+    }
+
+    private int owner(int vertex, int n) {
+        return (int) ((long) vertex * workers.size() / n);
+    }
+
+    /**
+     * Bytes sent and received so far over all worker connections
+     */
+    private long[] traffic() {
+        long[] bytes = new long[2];
+        for (WorkerConnection worker : workers) {
+            bytes[0] += worker.getBytesSent();
+            bytes[1] += worker.getBytesReceived();
+        }
+        return bytes;
+    }
+
+    private RoundStats roundStats(int round, int components, int merged, long[] before, long startTime) {
+        long[] after = traffic();
+        double timeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        return new RoundStats(round, components, merged, after[0] - before[0], after[1] - before[1], timeMs);
+    }
+
+    /**
+     * Peak bytes held by the coordinator itself: union-find, per-component candidates,
+     * merge lists and the tree; the edges live on the workers
+     */
+    public static long estimateAuxiliaryBytes(int n, int m) {
+        return 4 * MemoryLayout.array(n, 4)
+                + 2 * MemoryLayout.array(Math.max(0, n - 1), 4)
+                + MemoryLayout.arrayList(Math.max(0, n - 1))
+                + MemoryLayout.array(BoruvkaWorker.BUFFER_SIZE, 1);
+    }
+
+    public int getOperationsCount() {
+        return operationsCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeAll(workers);
+    }
+
+    private static void closeAll(List<WorkerConnection> workers) throws IOException {
+        IOException failure = null;
+        for (WorkerConnection worker : workers) {
+            try {
+                worker.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Traffic and time of one round; round 0 is the distribution of the edges
+     */
+    public static class RoundStats {
+        private final int round;
+        private final int components;
+        private final int merged;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final double timeMs;
+
+        public RoundStats(int round, int components, int merged, long bytesSent, long bytesReceived,
+                          double timeMs) {
+            this.round = round;
+            this.components = components;
+            this.merged = merged;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+            this.timeMs = timeMs;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        /**
+         * Components at the start of the round
+         */
+        public int getComponents() {
+            return components;
+        }
+
+        /**
+         * Tree edges added in the round
+         */
+        public int getMerged() {
+            return merged;
+        }
+
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        public double getTimeMs() {
+            return timeMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Round %d: %d components, %d merged, sent %d B, received %d B, %.2f ms",
+                    round, components, merged, bytesSent, bytesReceived, timeMs);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.mst.distributed;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * Worker node of the distributed Borůvka solver. It holds only the edges assigned
+ * to it and, every round, reports the cheapest edge it knows leaving each component.
+ * Components are named by their smallest vertex, so the worker's copy of the
+ * union-find agrees with the coordinator's after the same merges, in any order.
+ *
+ * The protocol has no authentication: anyone who can reach the port can make the
+ * worker allocate up to its configured limits, so bind it to loopback unless the
+ * network is trusted. Graphs above the vertex or edge limit are rejected before
+ * anything is allocated.
+ *
+ * Usage: java -cp classes com.mst.distributed.BoruvkaWorker [port] [--bind host] [--once]
+ *        [--max-vertices n] [--max-edges m]
+ */
+public class BoruvkaWorker {
+    static final byte GRAPH = 1;
+    static final byte ROUND = 2;
+    static final byte CLOSE = 3;
+    static final String READY = "LISTENING ";
+    static final int BUFFER_SIZE = 1 << 16;
+    /** Default limits: about 200 MB of vertex state and 512 MB of edges */
+    public static final int DEFAULT_MAX_VERTICES = 1 << 24;
+    public static final int DEFAULT_MAX_EDGES = 1 << 25;
+
+    private final ServerSocket serverSocket;
+    private final int maxVertices;
+    private final int maxEdges;
+
+    // State of the graph being solved
+    private int[] parent = new int[0];
+    private int[] from = new int[0];
+    private int[] to = new int[0];
+    private int[] weight = new int[0];
+    private int[] edgeId = new int[0];
+    private int liveCount;
+    private int[] best = new int[0];
+    private int[] touched = new int[0];
+
+    public BoruvkaWorker(ServerSocket serverSocket) {
+        this(serverSocket, DEFAULT_MAX_VERTICES, DEFAULT_MAX_EDGES);
+    }
+
+    /**
+     * Worker that rejects graphs with more than the given number of vertices or assigned edges
+     */
+    public BoruvkaWorker(ServerSocket serverSocket, int maxVertices, int maxEdges) {
+        if (maxVertices < 0 || maxEdges < 0) {
+            throw new IllegalArgumentException("Limits must be non-negative");
+        }
+        this.serverSocket = serverSocket;
+        this.maxVertices = maxVertices;
+        this.maxEdges = maxEdges;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 0;
+        String bind = "127.0.0.1";
+        boolean once = false;
+        int maxVertices = DEFAULT_MAX_VERTICES;
+        int maxEdges = DEFAULT_MAX_EDGES;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--bind")) {
+                bind = args[++i];
+            } else if (args[i].equals("--once")) {
+                once = true;
+            } else if (args[i].equals("--max-vertices")) {
+                maxVertices = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--max-edges")) {
+                maxEdges = Integer.parseInt(args[++i]);
+            } else {
+                port = Integer.parseInt(args[i]);
+            }
+        }
+
+        try (ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bind))) {
+            if (!serverSocket.getInetAddress().isLoopbackAddress()) {
+                System.err.println("WARNING: worker listens on " + serverSocket.getInetAddress().getHostAddress()
+                        + " without authentication; any host that can reach the port can submit graphs"
+                        + " of up to " + maxVertices + " vertices and " + maxEdges + " edges");
+            }
+            // The coordinator reads this line to learn the port of a spawned worker
+            System.out.println(READY + serverSocket.getLocalPort());
+            System.out.flush();
+            new BoruvkaWorker(serverSocket, maxVertices, maxEdges).serve(once);
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Serve coordinator sessions one at a time, or only the first one. A session that
+     * fails (a malformed message, a dropped connection) only closes its own socket;
+     * the worker keeps accepting unless it serves just once, when the failure is rethrown.
+     */
+    public void serve(boolean once) throws IOException {
+        do {
+            try (Socket socket = serverSocket.accept()) {
+                socket.setTcpNoDelay(true);
+                session(socket);
+            } catch (IOException e) {
+                if (once || serverSocket.isClosed()) {
+                    throw e;
+                }
+                System.err.println("Session ended with an error: " + e);
+            }
+        } while (!once);
+    }
+
+    private void session(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+
+        while (true) {
+            int type = in.read();
+            if (type == -1 || type == CLOSE) {
+                return;
+            }
+            if (type == GRAPH) {
+                load(in);
+            } else if (type == ROUND) {
+                round(in, out);
+            } else {
+                throw new IOException("Unknown message type " + type);
+            }
+        }
+    }
+
+    /**
+     * Receive the vertex count and this worker's share of the edges, rejecting
+     * counts above the limits and endpoints outside the vertex range
+     */
+    private void load(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        int m = in.readInt();
+        if (n < 0 || n > maxVertices) {
+            throw new IOException("Vertex count " + n + " is outside 0.." + maxVertices);
+        }
+        if (m < 0 || m > maxEdges) {
+            throw new IOException("Edge count " + m + " is outside 0.." + maxEdges);
+        }
+
+        parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            parent[v] = v;
+        }
+        best = new int[n];
+        Arrays.fill(best, -1);
+        touched = new int[n];
+
+        from = new int[m];
+        to = new int[m];
+        weight = new int[m];
+        edgeId = new int[m];
+        for (int i = 0; i < m; i++) {
+            edgeId[i] = in.readInt();
+            from[i] = in.readInt();
+            to[i] = in.readInt();
+            weight[i] = in.readInt();
+            checkVertex(from[i]);
+            checkVertex(to[i]);
+        }
+        liveCount = m;
+    }
+
+    /**
+     * Apply the previous round's merges, then report the cheapest local edge of every component
+     */
+    private void round(DataInputStream in, DataOutputStream out) throws IOException {
+        int merges = in.readInt();
+        for (int i = 0; i < merges; i++) {
+            union(parent, checkVertex(in.readInt()), checkVertex(in.readInt()));
+        }
+
+        // Drop edges that became internal, compacting the live ones to the front
+        int kept = 0;
+        int touchedCount = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int a = find(parent, from[i]);
+            int b = find(parent, to[i]);
+            if (a == b) {
+                continue;
+            }
+            from[kept] = from[i];
+            to[kept] = to[i];
+            weight[kept] = weight[i];
+            edgeId[kept] = edgeId[i];
+
+            if (best[a] == -1) {
+                touched[touchedCount++] = a;
+                best[a] = kept;
+            } else if (isLighter(kept, best[a])) {
+                best[a] = kept;
+            }
+            if (best[b] == -1) {
+                touched[touchedCount++] = b;
+                best[b] = kept;
+            } else if (isLighter(kept, best[b])) {
+                best[b] = kept;
+            }
+            kept++;
+        }
+        liveCount = kept;
+
+        out.writeInt(touchedCount);
+        for (int i = 0; i < touchedCount; i++) {
+            int c = touched[i];
+            out.writeInt(c);
+            out.writeInt(edgeId[best[c]]);
+            out.writeInt(weight[best[c]]);
+            best[c] = -1;
+        }
+        out.flush();
+    }
+
+    private int checkVertex(int v) throws IOException {
+        if (v < 0 || v >= parent.length) {
+            throw new IOException("Vertex " + v + " is outside the loaded graph");
+        }
+        return v;
+    }
+
+    private boolean isLighter(int i, int current) {
+        return weight[i] < weight[current] || (weight[i] == weight[current] && edgeId[i] < edgeId[current]);
+    }
+
+    /**
+     * Join the components of u and v under the smaller root
+     */
+    static boolean union(int[] parent, int u, int v) {
+        int a = find(parent, u);
+        int b = find(parent, v);
+        if (a == b) {
+            return false;
+        }
+        parent[Math.max(a, b)] = Math.min(a, b);
+        return true;
+    }
+
+    static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,142 @@
+package com.mst.distributed;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Coordinator side of one worker: its socket streams, the bytes sent and received
+ * through them, and the worker process if the coordinator started it
+ */
+class WorkerConnection implements Closeable {
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+
+    private final Socket socket;
+    private final Process process;
+    private final CountingOutputStream sent;
+    private final CountingInputStream received;
+    final DataOutputStream out;
+    final DataInputStream in;
+
+    private WorkerConnection(Socket socket, Process process) throws IOException {
+        this.socket = socket;
+        this.process = process;
+        socket.setTcpNoDelay(true);
+        this.sent = new CountingOutputStream(socket.getOutputStream());
+        this.received = new CountingInputStream(socket.getInputStream());
+        this.out = new DataOutputStream(new BufferedOutputStream(sent, BoruvkaWorker.BUFFER_SIZE));
+        this.in = new DataInputStream(new BufferedInputStream(received, BoruvkaWorker.BUFFER_SIZE));
+    }
+
+    static WorkerConnection connect(InetSocketAddress address) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(address, CONNECT_TIMEOUT_MS);
+            return new WorkerConnection(socket, null);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Start a worker JVM on this machine with the coordinator's classpath and connect to it
+     */
+    static WorkerConnection spawn() throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                BoruvkaWorker.class.getName(), "--once", "0");
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process process = builder.start();
+
+        try {
+            BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String line = output.readLine();
+            if (line == null || !line.startsWith(BoruvkaWorker.READY)) {
+                throw new IOException("Worker process did not start: " + line);
+            }
+            int port = Integer.parseInt(line.substring(BoruvkaWorker.READY.length()).trim());
+
+            Socket socket = new Socket();
+            socket.connect(new InetSocketAddress("127.0.0.1", port), CONNECT_TIMEOUT_MS);
+            return new WorkerConnection(socket, process);
+        } catch (IOException | RuntimeException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    long getBytesSent() {
+        return sent.count;
+    }
+
+    long getBytesReceived() {
+        return received.count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!socket.isClosed()) {
+                out.writeByte(BoruvkaWorker.CLOSE);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The worker is gone already
+        } finally {
+            socket.close();
+            if (process != null) {
+                process.destroy();
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
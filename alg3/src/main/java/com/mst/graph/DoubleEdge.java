@@ -0,0 +1,61 @@
+package com.mst.graph;
+
+import java.util.Objects;
+
+/**
+ * Weighted edge with a double weight, for totals that overflow int
+ */
+public class DoubleEdge implements Comparable<DoubleEdge> {
+    private final String from;
+    private final String to;
+    private final double weight;
+
+    public DoubleEdge(String from, String to, double weight) {
+        this.from = from;
+        this.to = to;
+        this.weight = weight;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Compare edges by weight (for sorting)
+     */
+    @Override
+    public int compareTo(DoubleEdge other) {
+        return Double.compare(this.weight, other.weight);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleEdge edge = (DoubleEdge) o;
+        return Double.compare(weight, edge.weight) == 0 &&
+                ((from.equals(edge.from) && to.equals(edge.to)) ||
+                        (from.equals(edge.to) && to.equals(edge.from)));
+    }
+
+    @Override
+    public int hashCode() {
+        // For undirected edges, hash should be same for (A,B) and (B,A)
+        return Objects.hash(Math.min(from.hashCode(), to.hashCode()),
+                Math.max(from.hashCode(), to.hashCode()),
+                weight);
+    }
+
+    @Override
+    public String toString() {
+        return from + " -- " + to + " [" + weight + "]";
+    }
+}
@@ -0,0 +1,185 @@
+package com.mst.graph;
+
+import java.util.*;
+
+/**
+ * Undirected graph with double edge weights, stored in primitive arrays.
+ * Vertices are numbered 0..V-1 in insertion order and edges 0..E-1;
+ * the CSR adjacency is built on first use.
+ */
+public class DoubleGraph {
+    private final Map<String, Integer> index;
+    private final List<String> names;
+    private int[] from;
+    private int[] to;
+    private double[] weight;
+    private int edgeCount;
+    private int[] adjacencyStart;
+    private int[] adjacencyEdges;
+
+    public DoubleGraph() {
+        this.index = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.from = new int[16];
+        this.to = new int[16];
+        this.weight = new double[16];
+    }
+
+    /**
+     * Add a vertex to the graph and return its number
+     */
+    public int addVertex(String vertex) {
+        Integer v = index.get(vertex);
+        if (v == null) {
+            v = names.size();
+            index.put(vertex, v);
+            names.add(vertex);
+            adjacencyStart = null;
+        }
+        return v;
+    }
+
+    /**
+     * Add an undirected edge to the graph
+     */
+    public void addEdge(String from, String to, double weight) {
+        int u = addVertex(from);
+        int v = addVertex(to);
+
+        if (edgeCount == this.from.length) {
+            this.from = Arrays.copyOf(this.from, edgeCount * 2);
+            this.to = Arrays.copyOf(this.to, edgeCount * 2);
+            this.weight = Arrays.copyOf(this.weight, edgeCount * 2);
+        }
+        this.from[edgeCount] = u;
+        this.to[edgeCount] = v;
+        this.weight[edgeCount] = weight;
+        edgeCount++;
+        adjacencyStart = null;
+    }
+
+    public int getVertexCount() {
+        return names.size();
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public String getName(int vertex) {
+        return names.get(vertex);
+    }
+
+    public int getFrom(int edge) {
+        return from[edge];
+    }
+
+    public int getTo(int edge) {
+        return to[edge];
+    }
+
+    public double getWeight(int edge) {
+        return weight[edge];
+    }
+
+    /**
+     * Endpoint of the edge that is not the given vertex
+     */
+    public int getOther(int edge, int vertex) {
+        return from[edge] == vertex ? to[edge] : from[edge];
+    }
+
+    /**
+     * Materialize an edge for output
+     */
+    public DoubleEdge getEdge(int edge) {
+        return new DoubleEdge(names.get(from[edge]), names.get(to[edge]), weight[edge]);
+    }
+
+    /**
+     * Adjacent edge ids of v are getAdjacentEdge(i) for i in [getAdjacencyStart(v), getAdjacencyStart(v + 1))
+     */
+    public int getAdjacencyStart(int vertex) {
+        buildAdjacency();
+        return adjacencyStart[vertex];
+    }
+
+    public int getAdjacentEdge(int position) {
+        return adjacencyEdges[position];
+    }
+
+    private void buildAdjacency() {
+        if (adjacencyStart != null) {
+            return;
+        }
+
+        int n = names.size();
+        int[] start = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            start[from[e] + 1]++;
+            start[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+
+        adjacencyEdges = new int[2 * edgeCount];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 0; e < edgeCount; e++) {
+            adjacencyEdges[fill[from[e]]++] = e;
+            adjacencyEdges[fill[to[e]]++] = e;
+        }
+        adjacencyStart = start;
+    }
+
+    /**
+     * Check if the graph is connected
+     */
+    public boolean isConnected() {
+        int n = names.size();
+        if (n == 0) return true;
+
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+        visited[0] = true;
+
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = getAdjacencyStart(v); i < getAdjacencyStart(v + 1); i++) {
+                int u = getOther(adjacencyEdges[i], v);
+                if (!visited[u]) {
+                    visited[u] = true;
+                    queue[tail++] = u;
+                }
+            }
+        }
+
+        return tail == n;
+    }
+
+    /**
+     * Estimate the bytes retained by this graph: names, the name index, the edge arrays
+     * (at their current capacity) and the adjacency once built
+     */
+    public long estimateRetainedBytes() {
+        long bytes = MemoryLayout.object(8);
+        bytes += MemoryLayout.hashMap(names.size()) + (long) names.size() * MemoryLayout.object(1);
+        bytes += MemoryLayout.arrayList(names.size());
+        for (String name : names) {
+            bytes += MemoryLayout.string(name);
+        }
+        bytes += 2 * MemoryLayout.array(from.length, 4) + MemoryLayout.array(weight.length, 8);
+        if (adjacencyStart != null) {
+            bytes += MemoryLayout.array(adjacencyStart.length, 4) + MemoryLayout.array(adjacencyEdges.length, 4);
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleGraph with " + names.size() + " vertices and " + edgeCount + " edges";
+    }
+}
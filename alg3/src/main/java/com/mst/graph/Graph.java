@@ -9,6 +9,7 @@ public class Graph {
     private final Map<String, List<Edge>> adjacencyList;
     private final Set<String> vertices;
     private final List<Edge> edges;
+    private IndexedGraph indexed;
 
     public Graph() {
         this.adjacencyList = new HashMap<>();
@@ -16,11 +17,20 @@ public class Graph {
         this.edges = new ArrayList<>();
     }
 
+    private Graph(int vertexCount, int edgeCount) {
+        int capacity = (int) (vertexCount / 0.75f) + 1;
+        this.adjacencyList = new HashMap<>(capacity);
+        this.vertices = new HashSet<>(capacity);
+        this.edges = new ArrayList<>(edgeCount);
+    }
+
     /**
      * Add a vertex to the graph
      */
     public void addVertex(String vertex) {
-        vertices.add(vertex);
+        if (vertices.add(vertex)) {
+            indexed = null;
+        }
         adjacencyList.putIfAbsent(vertex, new ArrayList<>());
     }
 
@@ -33,6 +43,7 @@ public class Graph {
 
         Edge edge = new Edge(from, to, weight);
         edges.add(edge);
+        indexed = null;
 
         adjacencyList.get(from).add(edge);
         adjacencyList.get(to).add(new Edge(to, from, weight));
@@ -52,6 +63,53 @@ public class Graph {
         return new ArrayList<>(edges);
     }
 
+    /**
+     * Get the int-indexed view of this graph, built on first use and cached until the graph changes
+     */
+    public IndexedGraph getIndexed() {
+        if (indexed == null) {
+            indexed = new IndexedGraph(vertices, edges);
+        }
+        return indexed;
+    }
+
+    /**
+     * Copy of this graph with every vertex but only the edges marked in keep, by index in
+     * getEdges() order. Edge objects are shared, and the copy's indexed view is derived
+     * from this graph's instead of hashing every name again.
+     */
+    public Graph filterEdges(boolean[] keep) {
+        IndexedGraph source = getIndexed();
+        int n = source.getVertexCount();
+        int kept = 0;
+        for (int e = 0; e < source.getEdgeCount(); e++) {
+            if (keep[e]) {
+                kept++;
+            }
+        }
+
+        Graph copy = new Graph(n, kept);
+        List<List<Edge>> adjacency = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            adjacency.add(new ArrayList<>());
+        }
+        for (int e = 0; e < source.getEdgeCount(); e++) {
+            if (keep[e]) {
+                Edge edge = source.getEdge(e);
+                copy.edges.add(edge);
+                adjacency.get(source.getFrom(e)).add(edge);
+                adjacency.get(source.getTo(e)).add(new Edge(edge.getTo(), edge.getFrom(), edge.getWeight()));
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            copy.vertices.add(source.getName(v));
+            copy.adjacencyList.put(source.getName(v), adjacency.get(v));
+        }
+
+        copy.indexed = new IndexedGraph(source, keep, kept);
+        return copy;
+    }
+
     /**
      * Get adjacent edges for a vertex
      */
@@ -101,6 +159,26 @@ public class Graph {
         return visited.size() == vertices.size();
     }
 
+    /**
+     * Estimate the bytes retained by this graph: vertex names, the vertex set, the adjacency
+     * map with its two Edge objects per edge, the edge list and the cached indexed view
+     */
+    public long estimateRetainedBytes() {
+        long bytes = MemoryLayout.object(4);
+        bytes += MemoryLayout.object(1) + MemoryLayout.hashMap(vertices.size());
+        bytes += MemoryLayout.hashMap(adjacencyList.size());
+        for (Map.Entry<String, List<Edge>> entry : adjacencyList.entrySet()) {
+            bytes += MemoryLayout.string(entry.getKey());
+            bytes += MemoryLayout.arrayList(entry.getValue().size());
+        }
+        bytes += MemoryLayout.arrayList(edges.size());
+        bytes += 2L * edges.size() * MemoryLayout.object(3);
+        if (indexed != null) {
+            bytes += indexed.estimateRetainedBytes();
+        }
+        return bytes;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
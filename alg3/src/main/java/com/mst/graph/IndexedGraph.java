@@ -0,0 +1,195 @@
+package com.mst.graph;
+
+import java.util.*;
+
+/**
+ * Compact int-indexed view of a Graph for the primitive solver paths.
+ * Vertices are numbered 0..V-1 and edges 0..E-1 in Graph.getEdges() order;
+ * adjacency is stored in CSR form as edge ids.
+ */
+public class IndexedGraph {
+    private final String[] names;
+    private final Map<String, Integer> index;
+    private final Edge[] edges;
+    private final int[] from;
+    private final int[] to;
+    private final int[] weight;
+    private final int[] adjacencyStart;
+    private final int[] adjacencyEdges;
+
+    IndexedGraph(Collection<String> vertices, List<Edge> edgeList) {
+        int n = vertices.size();
+        int m = edgeList.size();
+
+        names = vertices.toArray(new String[0]);
+        index = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            index.put(names[v], v);
+        }
+
+        edges = edgeList.toArray(new Edge[0]);
+        from = new int[m];
+        to = new int[m];
+        weight = new int[m];
+        adjacencyStart = new int[n + 1];
+
+        for (int e = 0; e < m; e++) {
+            from[e] = index.get(edges[e].getFrom());
+            to[e] = index.get(edges[e].getTo());
+            weight[e] = edges[e].getWeight();
+        }
+        adjacencyEdges = buildAdjacency(n, from, to, adjacencyStart);
+    }
+
+    /**
+     * View of the edges of parent marked in keep, sharing its vertex numbering and names
+     */
+    IndexedGraph(IndexedGraph parent, boolean[] keep, int kept) {
+        int n = parent.names.length;
+
+        names = parent.names;
+        index = parent.index;
+        edges = new Edge[kept];
+        from = new int[kept];
+        to = new int[kept];
+        weight = new int[kept];
+        adjacencyStart = new int[n + 1];
+
+        int k = 0;
+        for (int e = 0; e < parent.edges.length; e++) {
+            if (keep[e]) {
+                edges[k] = parent.edges[e];
+                from[k] = parent.from[e];
+                to[k] = parent.to[e];
+                weight[k] = parent.weight[e];
+                k++;
+            }
+        }
+        adjacencyEdges = buildAdjacency(n, from, to, adjacencyStart);
+    }
+
+    /**
+     * Fill adjacencyStart with CSR offsets and return the adjacent edge ids
+     */
+    private static int[] buildAdjacency(int n, int[] from, int[] to, int[] adjacencyStart) {
+        int m = from.length;
+        for (int e = 0; e < m; e++) {
+            adjacencyStart[from[e] + 1]++;
+            adjacencyStart[to[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            adjacencyStart[v + 1] += adjacencyStart[v];
+        }
+
+        int[] adjacencyEdges = new int[2 * m];
+        int[] fill = Arrays.copyOf(adjacencyStart, n);
+        for (int e = 0; e < m; e++) {
+            adjacencyEdges[fill[from[e]]++] = e;
+            adjacencyEdges[fill[to[e]]++] = e;
+        }
+        return adjacencyEdges;
+    }
+
+    /**
+     * Estimate the bytes retained by the arrays of this view (names and edges are shared with the Graph)
+     */
+    public long estimateRetainedBytes() {
+        int n = names.length;
+        int m = edges.length;
+        return MemoryLayout.object(8)
+                + MemoryLayout.array(n, MemoryLayout.REFERENCE)
+                + MemoryLayout.hashMap(n) + (long) n * MemoryLayout.object(1)
+                + MemoryLayout.array(m, MemoryLayout.REFERENCE)
+                + 3 * MemoryLayout.array(m, 4)
+                + MemoryLayout.array(n + 1, 4)
+                + MemoryLayout.array(2L * m, 4);
+    }
+
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    public String getName(int vertex) {
+        return names[vertex];
+    }
+
+    /**
+     * Get the number of a vertex by name, or -1 if it is not in the graph
+     */
+    public int getVertexId(String vertex) {
+        Integer v = index.get(vertex);
+        return v == null ? -1 : v;
+    }
+
+    /**
+     * Get the original Edge object for an edge id
+     */
+    public Edge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    /**
+     * Id of an edge with the same endpoints and weight as the given one, or -1.
+     * Edges taken from this graph are found by identity first; only the adjacency
+     * of the lower-degree endpoint is scanned.
+     */
+    public int findEdge(Edge edge) {
+        int u = getVertexId(edge.getFrom());
+        int v = getVertexId(edge.getTo());
+        if (u == -1 || v == -1) {
+            return -1;
+        }
+        if (adjacencyStart[v + 1] - adjacencyStart[v] < adjacencyStart[u + 1] - adjacencyStart[u]) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+
+        for (int i = adjacencyStart[u]; i < adjacencyStart[u + 1]; i++) {
+            if (edges[adjacencyEdges[i]] == edge) {
+                return adjacencyEdges[i];
+            }
+        }
+        for (int i = adjacencyStart[u]; i < adjacencyStart[u + 1]; i++) {
+            int e = adjacencyEdges[i];
+            if (getOther(e, u) == v && weight[e] == edge.getWeight()) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    public int getFrom(int edge) {
+        return from[edge];
+    }
+
+    public int getTo(int edge) {
+        return to[edge];
+    }
+
+    public int getWeight(int edge) {
+        return weight[edge];
+    }
+
+    /**
+     * Endpoint of the edge that is not the given vertex
+     */
+    public int getOther(int edge, int vertex) {
+        return from[edge] == vertex ? to[edge] : from[edge];
+    }
+
+    /**
+     * Adjacent edge ids of v are getAdjacentEdge(i) for i in [getAdjacencyStart(v), getAdjacencyStart(v + 1))
+     */
+    public int getAdjacencyStart(int vertex) {
+        return adjacencyStart[vertex];
+    }
+
+    public int getAdjacentEdge(int position) {
+        return adjacencyEdges[position];
+    }
+}
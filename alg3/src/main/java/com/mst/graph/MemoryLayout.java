@@ -0,0 +1,69 @@
+package com.mst.graph;
+
+/**
+ * Structural size estimates for heap objects, assuming a 64-bit JVM with
+ * compressed references (12-byte headers, 4-byte references, 8-byte alignment)
+ */
+public final class MemoryLayout {
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    // HashMap.Node: header, hash, key, value, next
+    private static final int MAP_NODE = align(OBJECT_HEADER + 4 + 3 * REFERENCE);
+    private static final int HASH_MAP = align(OBJECT_HEADER + 6 * 4 + 4);
+
+    private MemoryLayout() {
+    }
+
+    /**
+     * Round a size up to the 8-byte object alignment
+     */
+    public static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Size of an object with the given number of reference and 4-byte primitive fields
+     */
+    public static long object(int fields) {
+        return align((long) OBJECT_HEADER + (long) fields * 4);
+    }
+
+    /**
+     * Size of an array with the given length and element size
+     */
+    public static long array(long length, int elementSize) {
+        return align(ARRAY_HEADER + length * elementSize);
+    }
+
+    /**
+     * Size of a Latin-1 string, including its backing byte array
+     */
+    public static long string(String value) {
+        return object(3) + array(value.length(), 1);
+    }
+
+    /**
+     * Size of a HashMap (or the map inside a HashSet) holding the given number of entries,
+     * excluding keys and values
+     */
+    public static long hashMap(int entries) {
+        long capacity = 16;
+        while (capacity * 3 / 4 < entries) {
+            capacity <<= 1;
+        }
+        return HASH_MAP + array(capacity, REFERENCE) + (long) entries * MAP_NODE;
+    }
+
+    /**
+     * Size of an ArrayList holding the given number of elements, excluding the elements
+     */
+    public static long arrayList(int size) {
+        return object(3) + array(size, REFERENCE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mst.graph;
+
+import java.util.*;
+
+/**
+ * Set of named points in the plane, the input of a Euclidean MST.
+ * The complete graph over the points is implicit and never built.
+ */
+public class PointSet {
+    private final List<String> names;
+    private final double[] xs;
+    private final double[] ys;
+
+    public PointSet(List<String> names, double[] xs, double[] ys) {
+        if (names.size() != xs.length || xs.length != ys.length) {
+            throw new IllegalArgumentException("Point names and coordinates differ in length");
+        }
+        this.names = new ArrayList<>(names);
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Get the number of points
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    public String getName(int index) {
+        return names.get(index);
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Euclidean distance between two points
+     */
+    public double distance(int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Estimate the bytes retained by the names and coordinate arrays
+     */
+    public long estimateRetainedBytes() {
+        long bytes = MemoryLayout.object(3) + MemoryLayout.arrayList(names.size());
+        for (String name : names) {
+            bytes += MemoryLayout.string(name);
+        }
+        return bytes + 2 * MemoryLayout.array(xs.length, 8);
+    }
+
+    @Override
+    public String toString() {
+        return "PointSet with " + xs.length + " points";
+    }
+}
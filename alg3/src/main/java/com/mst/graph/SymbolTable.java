@@ -0,0 +1,106 @@
+package com.mst.graph;
+
+import java.util.Arrays;
+
+/**
+ * Batch-wide canonicalizer of vertex names. Each distinct name is stored once, as
+ * the String handed to every graph of the batch, so its hash is computed once and
+ * equal names compare by reference in the Graph maps. Names are looked up straight
+ * from the input text; only a name seen for the first time is cut out as a String.
+ * Not thread-safe: one table belongs to one batch reader.
+ */
+public class SymbolTable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+    // Open addressing over name indices + 1; 0 marks a free slot
+    private int[] slots = new int[2 * INITIAL_CAPACITY];
+
+    /**
+     * The shared String equal to text[start, end), adding it if it is new
+     */
+    public String canonical(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+
+        int mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (index == -1) {
+                String name = text.subSequence(start, end).toString();
+                slots[slot] = add(name, hash) + 1;
+                if (2 * size > slots.length) {
+                    rehash();
+                }
+                return name;
+            }
+            if (hashes[index] == hash && matches(names[index], text, start, end)) {
+                return names[index];
+            }
+        }
+    }
+
+    /**
+     * Number of distinct names held
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Forget every name, releasing the table's storage; Strings handed out earlier stay valid
+     */
+    public void clear() {
+        names = new String[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        slots = new int[2 * INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private int add(String name, int hash) {
+        if (size == hashes.length) {
+            names = Arrays.copyOf(names, 2 * size);
+            hashes = Arrays.copyOf(hashes, 2 * size);
+        }
+        int index = size++;
+        names[index] = name;
+        hashes[index] = hash;
+        return index;
+    }
+
+    private static boolean matches(String name, CharSequence text, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        slots = new int[2 * slots.length];
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = mix(hashes[index]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    /**
+     * Spread the String-style hash so sequential names do not cluster in the table
+     */
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,224 @@
+package com.mst.io;
+
+import com.mst.algorithms.DoubleMSTResult;
+import com.mst.algorithms.LongMSTResult;
+import com.mst.algorithms.MSTResult;
+import com.mst.algorithms.MSTVerifier;
+import com.mst.algorithms.MemoryStats;
+import com.mst.algorithms.SpanningTreeResult;
+import com.mst.graph.DoubleEdge;
+import com.mst.graph.Edge;
+import com.mst.graph.LongEdge;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads files written by BinaryResultWriter back into ResultData, one graph at a
+ * time. GZIP-compressed files are recognized by their magic bytes.
+ *
+ * Usage: java -cp classes com.mst.io.BinaryResultReader results.bin [results.json]
+ * prints a summary of every graph, or converts the file to the JSON format.
+ */
+public class BinaryResultReader implements Closeable {
+    private static final int GZIP_MAGIC = 0x1f8b;
+
+    private final DataInputStream in;
+    private final List<String> vertexNames = new ArrayList<>();
+    private boolean finished;
+
+    public BinaryResultReader(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input, 1 << 16);
+        buffered.mark(2);
+        int magic = (buffered.read() << 8) | buffered.read();
+        buffered.reset();
+
+        InputStream source = magic == GZIP_MAGIC
+                ? new BufferedInputStream(new GZIPInputStream(buffered, 1 << 16), 1 << 16)
+                : buffered;
+        this.in = new DataInputStream(source);
+
+        if (in.readInt() != BinaryResultWriter.MAGIC) {
+            throw new IOException("Not a binary results file");
+        }
+        int version = in.readUnsignedShort();
+        if (version != BinaryResultWriter.VERSION) {
+            throw new IOException("Unsupported binary results version " + version);
+        }
+    }
+
+    public static BinaryResultReader open(String filename) throws IOException {
+        return new BinaryResultReader(new FileInputStream(filename));
+    }
+
+    /**
+     * The next graph's results, or null after the last one
+     */
+    public JSONWriter.ResultData next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        int tag = in.readByte();
+        if (tag == BinaryResultWriter.END) {
+            finished = true;
+            return null;
+        }
+        if (tag != BinaryResultWriter.GRAPH) {
+            throw new IOException("Unknown block type " + tag);
+        }
+
+        int graphId = in.readInt();
+        int vertexCount = in.readInt();
+        int edgeCount = in.readInt();
+
+        int newNames = readVarInt();
+        for (int i = 0; i < newNames; i++) {
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            vertexNames.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        Map<String, SpanningTreeResult> trees = new LinkedHashMap<>();
+        Map<String, MSTVerifier.Report> verifications = new HashMap<>();
+        long[] graphBytes = {-1};
+        int algorithms = in.readUnsignedByte();
+        for (int i = 0; i < algorithms; i++) {
+            String algorithm = in.readUTF();
+            trees.put(algorithm, readTree(algorithm, graphBytes, verifications));
+        }
+
+        JSONWriter.ResultData result = new JSONWriter.ResultData(graphId, vertexCount, edgeCount, trees);
+        result.setGraphBytes(graphBytes[0]);
+        for (Map.Entry<String, MSTVerifier.Report> entry : verifications.entrySet()) {
+            result.setVerification(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Read everything up to the end marker
+     */
+    public List<JSONWriter.ResultData> readAll() throws IOException {
+        List<JSONWriter.ResultData> results = new ArrayList<>();
+        JSONWriter.ResultData result;
+        while ((result = next()) != null) {
+            results.add(result);
+        }
+        return results;
+    }
+
+    private SpanningTreeResult readTree(String algorithm, long[] graphBytes,
+                                        Map<String, MSTVerifier.Report> verifications) throws IOException {
+        byte weightType = in.readByte();
+        int operationsCount = in.readInt();
+        double executionTimeMs = in.readDouble();
+
+        MemoryStats memory = null;
+        if (in.readBoolean()) {
+            // The graph's size is repeated in every tree of the block
+            graphBytes[0] = in.readLong();
+            memory = new MemoryStats(in.readLong(), in.readLong());
+        }
+
+        byte verification = in.readByte();
+        if (verification != BinaryResultWriter.NOT_VERIFIED) {
+            // The failure message is not stored, only the outcome
+            String failure = verification == BinaryResultWriter.VERIFIED ? null : "rejected";
+            verifications.put(algorithm, new MSTVerifier.Report(failure, 0, in.readDouble()));
+        }
+
+        int k = readVarInt();
+        int[] from = new int[k];
+        int[] to = new int[k];
+        for (int i = 0; i < k; i++) {
+            from[i] = in.readInt();
+        }
+        for (int i = 0; i < k; i++) {
+            to[i] = in.readInt();
+        }
+
+        if (weightType == BinaryResultWriter.LONG_WEIGHTS) {
+            List<LongEdge> edges = new ArrayList<>(k);
+            for (int i = 0; i < k; i++) {
+                edges.add(new LongEdge(name(from[i]), name(to[i]), in.readLong()));
+            }
+            return new LongMSTResult(edges, in.readLong(), operationsCount, executionTimeMs, memory);
+        }
+        if (weightType == BinaryResultWriter.DOUBLE_WEIGHTS) {
+            List<DoubleEdge> edges = new ArrayList<>(k);
+            for (int i = 0; i < k; i++) {
+                edges.add(new DoubleEdge(name(from[i]), name(to[i]), in.readDouble()));
+            }
+            return new DoubleMSTResult(edges, in.readDouble(), operationsCount, executionTimeMs, memory);
+        }
+        if (weightType != BinaryResultWriter.INT_WEIGHTS) {
+            throw new IOException("Unknown weight type " + weightType);
+        }
+        List<Edge> edges = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            edges.add(new Edge(name(from[i]), name(to[i]), in.readInt()));
+        }
+        return new MSTResult(edges, in.readInt(), operationsCount, executionTimeMs, memory);
+    }
+
+    private String name(int id) throws IOException {
+        if (id < 0 || id >= vertexNames.size()) {
+            throw new IOException("Vertex id " + id + " is not in the name table");
+        }
+        return vertexNames.get(id);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Vertex names seen so far, indexed by the ids used in the tree columns
+     */
+    public List<String> getVertexNames() {
+        return Collections.unmodifiableList(vertexNames);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: BinaryResultReader results.bin [results.json]");
+            return;
+        }
+
+        try (BinaryResultReader reader = open(args[0])) {
+            if (args.length > 1) {
+                List<JSONWriter.ResultData> results = reader.readAll();
+                JSONWriter.writeResults(args[1], results);
+                System.out.println("Converted " + results.size() + " graphs to " + args[1]);
+                return;
+            }
+
+            JSONWriter.ResultData result;
+            while ((result = reader.next()) != null) {
+                System.out.println("Graph " + result.getGraphId() + " (" + result.getVertexCount()
+                        + " vertices, " + result.getEdgeCount() + " edges)");
+                for (Map.Entry<String, SpanningTreeResult> entry : result.getAlgorithmResults().entrySet()) {
+                    SpanningTreeResult tree = entry.getValue();
+                    System.out.println("  " + entry.getKey() + ": cost " + tree.getTotalCostText()
+                            + ", " + tree.getEdgeCount() + " edges, "
+                            + String.format("%.2f", tree.getExecutionTimeMs()) + " ms");
+                }
+            }
+        }
+    }
+}
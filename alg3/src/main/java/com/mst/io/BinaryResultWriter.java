@@ -0,0 +1,178 @@
+package com.mst.io;
+
+import com.mst.algorithms.DoubleMSTResult;
+import com.mst.algorithms.LongMSTResult;
+import com.mst.algorithms.MSTResult;
+import com.mst.algorithms.MSTVerifier;
+import com.mst.algorithms.MemoryStats;
+import com.mst.algorithms.SpanningTreeResult;
+import com.mst.profiling.WriteEvent;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Columnar binary result format. Vertex names go into one table shared by the whole
+ * file: each graph block first appends the names it uses for the first time, and its
+ * trees then refer to vertices by table index. A tree is stored as a column of from
+ * ids, a column of to ids and a column of weights, in the engine's own weight type.
+ *
+ * File:   magic "MSTB", version, graph blocks, END
+ * Graph:  GRAPH, id, vertices, edges, new vertex names, algorithm count, trees
+ * Tree:   name, weight type, operations, time, [memory], verification,
+ *         edge count, from column, to column, weight column, total cost
+ *
+ * Counts and name lengths are unsigned LEB128 varints; everything else is big-endian.
+ * BinaryResultReader reads the format back, detecting a GZIP layer by itself.
+ * Plan, sensitivity, reduction, distribution and benchmark blocks are JSON-only.
+ */
+public class BinaryResultWriter implements ResultSink {
+    static final int MAGIC = 0x4D535442;
+    static final int VERSION = 1;
+    static final byte END = 0;
+    static final byte GRAPH = 1;
+    static final byte INT_WEIGHTS = 0;
+    static final byte LONG_WEIGHTS = 1;
+    static final byte DOUBLE_WEIGHTS = 2;
+    static final byte NOT_VERIFIED = 0;
+    static final byte VERIFIED = 1;
+    static final byte REJECTED = 2;
+
+    private final DataOutputStream out;
+    private final String destination;
+    private final WriteEvent event = new WriteEvent();
+    private final Map<String, Integer> vertexIds = new HashMap<>();
+    private int count;
+
+    public BinaryResultWriter(OutputStream out, String destination) throws IOException {
+        this.out = out instanceof DataOutputStream ? (DataOutputStream) out : new DataOutputStream(out);
+        this.destination = destination;
+        event.begin();
+
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+    }
+
+    @Override
+    public void write(JSONWriter.ResultData result) throws IOException {
+        out.writeByte(GRAPH);
+        out.writeInt(result.getGraphId());
+        out.writeInt(result.getVertexCount());
+        out.writeInt(result.getEdgeCount());
+
+        // Names not seen in earlier graphs extend the shared table
+        List<String> newNames = new ArrayList<>();
+        for (SpanningTreeResult tree : result.getAlgorithmResults().values()) {
+            for (int i = 0; i < tree.getEdgeCount(); i++) {
+                register(tree.getEdgeFrom(i), newNames);
+                register(tree.getEdgeTo(i), newNames);
+            }
+        }
+        writeVarInt(newNames.size());
+        for (String name : newNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeByte(result.getAlgorithmResults().size());
+        for (Map.Entry<String, SpanningTreeResult> entry : result.getAlgorithmResults().entrySet()) {
+            writeTree(entry.getKey(), entry.getValue(), result.getGraphBytes(),
+                    result.getVerification(entry.getKey()));
+        }
+        count++;
+    }
+
+    private void register(String name, List<String> newNames) {
+        if (!vertexIds.containsKey(name)) {
+            vertexIds.put(name, vertexIds.size());
+            newNames.add(name);
+        }
+    }
+
+    private void writeTree(String algorithm, SpanningTreeResult tree, long graphBytes,
+                           MSTVerifier.Report verification) throws IOException {
+        out.writeUTF(algorithm);
+        byte weightType = tree instanceof LongMSTResult ? LONG_WEIGHTS
+                : tree instanceof DoubleMSTResult ? DOUBLE_WEIGHTS : INT_WEIGHTS;
+        out.writeByte(weightType);
+        out.writeInt(tree.getOperationsCount());
+        out.writeDouble(tree.getExecutionTimeMs());
+
+        MemoryStats memory = tree.getMemoryStats();
+        out.writeBoolean(memory != null);
+        if (memory != null) {
+            out.writeLong(graphBytes);
+            out.writeLong(memory.getAuxiliaryBytes());
+            out.writeLong(memory.getAllocatedBytes());
+        }
+
+        if (verification == null) {
+            out.writeByte(NOT_VERIFIED);
+        } else {
+            out.writeByte(verification.isValid() ? VERIFIED : REJECTED);
+            out.writeDouble(verification.getExecutionTimeMs());
+        }
+
+        int k = tree.getEdgeCount();
+        writeVarInt(k);
+        for (int i = 0; i < k; i++) {
+            out.writeInt(vertexIds.get(tree.getEdgeFrom(i)));
+        }
+        for (int i = 0; i < k; i++) {
+            out.writeInt(vertexIds.get(tree.getEdgeTo(i)));
+        }
+
+        if (weightType == LONG_WEIGHTS) {
+            LongMSTResult longTree = (LongMSTResult) tree;
+            for (int i = 0; i < k; i++) {
+                out.writeLong(longTree.getMstEdges().get(i).getWeight());
+            }
+            out.writeLong(longTree.getTotalCost());
+        } else if (weightType == DOUBLE_WEIGHTS) {
+            DoubleMSTResult doubleTree = (DoubleMSTResult) tree;
+            for (int i = 0; i < k; i++) {
+                out.writeDouble(doubleTree.getMstEdges().get(i).getWeight());
+            }
+            out.writeDouble(doubleTree.getTotalCost());
+        } else {
+            MSTResult intTree = (MSTResult) tree;
+            for (int i = 0; i < k; i++) {
+                out.writeInt(intTree.getMstEdges().get(i).getWeight());
+            }
+            out.writeInt(intTree.getTotalCost());
+        }
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.writeByte(END);
+        out.flush();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.destination = destination;
+            event.results = count;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
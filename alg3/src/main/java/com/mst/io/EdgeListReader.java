@@ -0,0 +1,262 @@
+package com.mst.io;
+
+import com.mst.graph.Graph;
+import com.mst.profiling.ParseEvent;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Reader for SNAP-style plain-text edge lists ("u v w" per line, weight defaults to 1).
+ * The file is memory-mapped and split into newline-aligned chunks that are parsed
+ * in parallel into primitive edge buffers, then merged into one Graph.
+ * Lines starting with '#' or '%' are comments.
+ */
+public class EdgeListReader {
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    private static final long MAX_CHUNK_BYTES = 1 << 30;
+
+    /**
+     * Read an edge-list file as a single graph with the given id
+     */
+    public static JSONParser.GraphData parseInputFile(String filename, int graphId) throws IOException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        JSONParser.GraphData graphData = new JSONParser.GraphData(graphId, readGraph(filename));
+        JSONParser.commitParseEvent(event, filename, List.of(graphData));
+        return graphData;
+    }
+
+    public static Graph readGraph(String filename) throws IOException {
+        return readGraph(filename, 0);
+    }
+
+    /**
+     * Read with chunks of about the given size, moved forward to the next line start;
+     * 0 sizes them by file size and core count
+     */
+    public static Graph readGraph(String filename, long chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int parallelism = Runtime.getRuntime().availableProcessors();
+
+            if (chunkBytes <= 0) {
+                chunkBytes = Math.max(MIN_CHUNK_BYTES, (size + parallelism - 1) / parallelism);
+                chunkBytes = Math.min(chunkBytes, MAX_CHUNK_BYTES);
+            }
+
+            List<long[]> ranges = splitAtNewlines(channel, size, chunkBytes);
+            List<MappedByteBuffer> buffers = new ArrayList<>(ranges.size());
+            for (long[] range : ranges) {
+                buffers.add(channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]));
+            }
+
+            // Vertex names are interned concurrently into one global id space
+            Map<String, Integer> vertexIds = new ConcurrentHashMap<>();
+            AtomicInteger nextId = new AtomicInteger();
+
+            List<EdgeBuffer> parsed;
+            try {
+                parsed = buffers.parallelStream()
+                        .map(buffer -> parseChunk(buffer, vertexIds, nextId))
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            String[] names = new String[nextId.get()];
+            for (Map.Entry<String, Integer> entry : vertexIds.entrySet()) {
+                names[entry.getValue()] = entry.getKey();
+            }
+
+            // Merge chunks in file order so edge order matches the input
+            Graph graph = new Graph();
+            for (String name : names) {
+                graph.addVertex(name);
+            }
+            for (EdgeBuffer buffer : parsed) {
+                for (int i = 0; i < buffer.size; i++) {
+                    graph.addEdge(names[buffer.from[i]], names[buffer.to[i]], buffer.weight[i]);
+                }
+            }
+
+            return graph;
+        }
+    }
+
+    /**
+     * Cut [0, size) into ranges of about chunkBytes, each ending just after a newline
+     */
+    private static List<long[]> splitAtNewlines(FileChannel channel, long size, long chunkBytes)
+            throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        long start = 0;
+
+        while (start < size) {
+            long end = Math.min(size, start + chunkBytes);
+
+            if (end < size) {
+                end = nextLineStart(channel, end, size);
+            }
+
+            ranges.add(new long[]{start, end});
+            start = end;
+        }
+
+        return ranges;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(4096);
+
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) break;
+
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+
+        return size;
+    }
+
+    private static EdgeBuffer parseChunk(MappedByteBuffer buffer, Map<String, Integer> vertexIds,
+                                         AtomicInteger nextId) {
+        EdgeBuffer edges = new EdgeBuffer();
+        // Chunk-local cache keeps most lookups off the shared map
+        Map<String, Integer> localIds = new HashMap<>();
+        byte[] token = new byte[64];
+        int[] values = new int[3];
+
+        int limit = buffer.limit();
+        int pos = 0;
+
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int fields = 0;
+            int i = skipSpaces(buffer, pos, lineEnd);
+            boolean skipLine = i >= lineEnd || buffer.get(i) == '#' || buffer.get(i) == '%';
+
+            if (!skipLine) {
+                while (fields < 3) {
+                    i = skipSpaces(buffer, i, lineEnd);
+                    if (i >= lineEnd) break;
+
+                    int tokenStart = i;
+                    while (i < lineEnd && !isSpace(buffer.get(i))) {
+                        i++;
+                    }
+                    int length = i - tokenStart;
+                    if (token.length < length) {
+                        token = new byte[length * 2];
+                    }
+                    buffer.get(tokenStart, token, 0, length);
+
+                    if (fields < 2) {
+                        String name = new String(token, 0, length, StandardCharsets.UTF_8);
+                        Integer id = localIds.get(name);
+                        if (id == null) {
+                            id = vertexIds.computeIfAbsent(name, key -> nextId.getAndIncrement());
+                            localIds.put(name, id);
+                        }
+                        values[fields] = id;
+                    } else {
+                        values[fields] = parseInt(token, length);
+                    }
+                    fields++;
+                }
+
+                if (fields == 1) {
+                    throw new UncheckedIOException(new IOException(
+                            "Malformed edge line: expected \"u v [w]\""));
+                }
+                if (fields > 1) {
+                    edges.add(values[0], values[1], fields == 3 ? values[2] : 1);
+                }
+            }
+
+            pos = lineEnd + 1;
+        }
+
+        return edges;
+    }
+
+    private static int skipSpaces(MappedByteBuffer buffer, int pos, int end) {
+        while (pos < end && isSpace(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == ',';
+    }
+
+    private static int parseInt(byte[] digits, int length) {
+        int i = 0;
+        boolean negative = digits[0] == '-';
+        if (negative || digits[0] == '+') i++;
+        if (i == length) {
+            throw new UncheckedIOException(new IOException("Malformed edge weight"));
+        }
+
+        // Accumulate negatively so Integer.MIN_VALUE parses too
+        int value = 0;
+        try {
+            for (; i < length; i++) {
+                int digit = digits[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    throw malformedWeight(digits, length);
+                }
+                value = Math.subtractExact(Math.multiplyExact(value, 10), digit);
+            }
+            return negative ? value : Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw malformedWeight(digits, length);
+        }
+    }
+
+    private static UncheckedIOException malformedWeight(byte[] digits, int length) {
+        return new UncheckedIOException(new IOException(
+                "Malformed edge weight: " + new String(digits, 0, length, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Growable primitive buffer of parsed edges
+     */
+    private static class EdgeBuffer {
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        int[] weight = new int[1024];
+        int size;
+
+        void add(int u, int v, int w) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            from[size] = u;
+            to[size] = v;
+            weight[size] = w;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.mst.io;
+
+import com.mst.graph.SymbolTable;
+import com.mst.profiling.ParseEvent;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * Reads the "graphs" array of an input JSON file one graph at a time, so a batch
+ * never has to be held in memory at once. Lines are trimmed and joined as in
+ * JSONParser.parseInputFile, so each graph object is parsed with the same rules.
+ */
+public class GraphStreamReader implements Closeable {
+    /** Names the shared table may hold before it is cleared, so a long stream stays bounded */
+    static final int MAX_SHARED_NAMES = 1 << 16;
+
+    private final BufferedReader reader;
+    private final String source;
+    // Vertex names are shared by the graphs read from this stream until the table fills
+    private final SymbolTable symbols = new SymbolTable();
+    private boolean inArray;
+    private boolean finished;
+    private String line = "";
+    private int position;
+
+    public GraphStreamReader(String filename) throws IOException {
+        this(new FileReader(filename), filename);
+    }
+
+    public GraphStreamReader(Reader reader, String source) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.source = source;
+    }
+
+    /**
+     * Parse the next graph, or return null once the array is exhausted.
+     * Malformed graphs are reported and skipped, as in JSONParser.
+     */
+    public JSONParser.GraphData next() throws IOException {
+        while (!finished) {
+            ParseEvent event = new ParseEvent();
+            event.begin();
+
+            String graphObj = nextObject();
+            if (graphObj == null) {
+                finished = true;
+                return null;
+            }
+
+            JSONParser.GraphData graphData = JSONParser.parseGraphObject(graphObj, symbols);
+            if (symbols.size() > MAX_SHARED_NAMES) {
+                // Graphs already read keep their Strings; later ones just stop sharing them
+                symbols.clear();
+            }
+            if (graphData != null) {
+                JSONParser.commitParseEvent(event, source, List.of(graphData));
+                return graphData;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Raw text of the next object in the graphs array, or null at its end
+     */
+    private String nextObject() throws IOException {
+        if (!inArray && !seekGraphsArray()) {
+            return null;
+        }
+
+        int c;
+        while ((c = read()) != -1) {
+            if (c == ']') {
+                return null;
+            }
+            if (c == '{') {
+                return readObject();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Skip ahead to just past the '[' that opens the top-level "graphs" array
+     */
+    private boolean seekGraphsArray() throws IOException {
+        int depth = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '"') {
+                String key = readString();
+                if (depth == 1 && key.equals("graphs")) {
+                    while ((c = read()) != -1 && c != '[') {
+                        // skip the colon and whitespace
+                    }
+                    inArray = c == '[';
+                    return inArray;
+                }
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+        return false;
+    }
+
+    private String readString() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != '"') {
+            if (c == '\\') {
+                text.append((char) c);
+                c = read();
+            }
+            text.append((char) c);
+        }
+        return text.toString();
+    }
+
+    private String readObject() throws IOException {
+        StringBuilder text = new StringBuilder("{");
+        int depth = 1;
+        boolean inString = false;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            text.append((char) c);
+            if (inString) {
+                if (c == '\\') {
+                    text.append((char) read());
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            }
+        }
+        if (depth > 0) {
+            throw new IOException("Unterminated graph object in " + source);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Next character of the trimmed, joined lines, or -1 at the end of input
+     */
+    private int read() throws IOException {
+        while (position >= line.length()) {
+            String next = reader.readLine();
+            if (next == null) {
+                return -1;
+            }
+            line = next.trim();
+            position = 0;
+        }
+        return line.charAt(position++);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,6 +1,11 @@
 package com.mst.io;
 
+import com.mst.graph.DoubleGraph;
 import com.mst.graph.Graph;
+import com.mst.graph.LongGraph;
+import com.mst.graph.PointSet;
+import com.mst.graph.SymbolTable;
+import com.mst.profiling.ParseEvent;
 import java.io.*;
 import java.util.*;
 
@@ -13,6 +18,8 @@ public class JSONParser {
      * Parse graphs from input JSON file
      */
     public static List<GraphData> parseInputFile(String filename) throws IOException {
+        ParseEvent event = new ParseEvent();
+        event.begin();
         StringBuilder content = new StringBuilder();
 
         try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
@@ -22,7 +29,42 @@ public class JSONParser {
             }
         }
 
-        return parseGraphs(content.toString());
+        List<GraphData> graphDataList = parseGraphs(content.toString());
+        commitParseEvent(event, filename, graphDataList);
+        return graphDataList;
+    }
+
+    /**
+     * Parse graphs from JSON text already held in memory
+     */
+    public static List<GraphData> parseInput(String content) {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        StringBuilder compact = new StringBuilder(content.length());
+
+        for (String line : content.split("\\R")) {
+            compact.append(line.trim());
+        }
+
+        List<GraphData> graphDataList = parseGraphs(compact.toString());
+        commitParseEvent(event, "request", graphDataList);
+        return graphDataList;
+    }
+
+    /**
+     * Record a parse phase; the totals are only computed while a recording is running
+     */
+    static void commitParseEvent(ParseEvent event, String source, List<GraphData> graphDataList) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.graphs = graphDataList.size();
+            for (GraphData graphData : graphDataList) {
+                event.vertices += graphData.getVertexCount();
+                event.edges += graphData.getEdgeCount();
+            }
+            event.commit();
+        }
     }
 
     private static List<GraphData> parseGraphs(String json) {
@@ -37,11 +79,12 @@ public class JSONParser {
 
         String graphsArray = json.substring(arrayStart + 1, arrayEnd);
 
-        // Parse each graph object
+        // Parse each graph object; vertex names are shared across the whole batch
         List<String> graphObjects = splitGraphObjects(graphsArray);
+        SymbolTable symbols = new SymbolTable();
 
         for (String graphObj : graphObjects) {
-            GraphData graphData = parseGraphObject(graphObj);
+            GraphData graphData = parseGraphObject(graphObj, symbols);
             if (graphData != null) {
                 graphDataList.add(graphData);
             }
@@ -50,16 +93,55 @@ public class JSONParser {
         return graphDataList;
     }
 
-    private static GraphData parseGraphObject(String graphObj) {
+    /**
+     * Parse one graph object from compacted JSON text, taking vertex names from the batch's
+     * symbol table; returns null (after reporting) if it is malformed
+     */
+    static GraphData parseGraphObject(String graphObj, SymbolTable symbols) {
         try {
             // Parse id
             int id = parseIntValue(graphObj, "id");
 
             // Parse nodes
-            List<String> nodes = parseStringArray(graphObj, "nodes");
+            List<String> nodes = parseStringArray(graphObj, "nodes", symbols);
+
+            // Point-set inputs describe an implicit complete Euclidean graph
+            int pointsKey = findObjectKey(graphObj, "points");
+            if (pointsKey != -1) {
+                return new GraphData(id, parsePointSet(graphObj, pointsKey, nodes));
+            }
 
             // Parse edges
-            List<EdgeData> edges = parseEdgesArray(graphObj);
+            List<EdgeData> edges = parseEdgesArray(graphObj, symbols);
+
+            // Wider weights get their own primitive graph variant
+            GraphData.WeightType weightType = detectWeightType(edges);
+
+            if (weightType == GraphData.WeightType.LONG) {
+                LongGraph graph = new LongGraph();
+                for (String node : nodes) {
+                    graph.addVertex(node);
+                }
+                for (EdgeData edge : edges) {
+                    graph.addEdge(edge.from, edge.to, Long.parseLong(edge.weight));
+                }
+                return new GraphData(id, graph);
+            }
+
+            if (weightType == GraphData.WeightType.DOUBLE) {
+                DoubleGraph graph = new DoubleGraph();
+                for (String node : nodes) {
+                    graph.addVertex(node);
+                }
+                for (EdgeData edge : edges) {
+                    double weight = Double.parseDouble(edge.weight);
+                    if (!Double.isFinite(weight)) {
+                        throw new IllegalArgumentException("Edge weight must be finite: " + edge.weight);
+                    }
+                    graph.addEdge(edge.from, edge.to, weight);
+                }
+                return new GraphData(id, graph);
+            }
 
             // Build graph
             Graph graph = new Graph();
@@ -69,7 +151,7 @@ public class JSONParser {
             }
 
             for (EdgeData edge : edges) {
-                graph.addEdge(edge.from, edge.to, edge.weight);
+                graph.addEdge(edge.from, edge.to, Integer.parseInt(edge.weight));
             }
 
             return new GraphData(id, graph);
@@ -80,10 +162,46 @@ public class JSONParser {
         }
     }
 
+    /**
+     * Pick the narrowest weight type that holds every edge weight: any fraction or
+     * exponent means double, anything beyond int range means long, and integers beyond
+     * long range mean double as well
+     */
+    private static GraphData.WeightType detectWeightType(List<EdgeData> edges) {
+        GraphData.WeightType type = GraphData.WeightType.INT;
+
+        for (EdgeData edge : edges) {
+            String weight = edge.weight;
+            if (weight.indexOf('.') != -1 || weight.indexOf('e') != -1 || weight.indexOf('E') != -1) {
+                return GraphData.WeightType.DOUBLE;
+            }
+            long value;
+            try {
+                value = Long.parseLong(weight);
+            } catch (NumberFormatException e) {
+                // Out of long range, or not a number at all, which the double parse then reports
+                return GraphData.WeightType.DOUBLE;
+            }
+            if (value != (int) value) {
+                type = GraphData.WeightType.LONG;
+            }
+        }
+
+        return type;
+    }
+
     private static int parseIntValue(String json, String key) {
+        String value = parseRawValue(json, key);
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    /**
+     * Text of a scalar value, or "" when the key is missing
+     */
+    private static String parseRawValue(String json, String key) {
         String search = "\"" + key + "\"";
         int keyPos = json.indexOf(search);
-        if (keyPos == -1) return 0;
+        if (keyPos == -1) return "";
 
         int colonPos = json.indexOf(':', keyPos);
         int commaPos = json.indexOf(',', colonPos);
@@ -91,11 +209,10 @@ public class JSONParser {
 
         int endPos = (commaPos != -1 && commaPos < bracePos) ? commaPos : bracePos;
 
-        String value = json.substring(colonPos + 1, endPos).trim();
-        return Integer.parseInt(value);
+        return json.substring(colonPos + 1, endPos).trim();
     }
 
-    private static String parseStringValue(String json, String key) {
+    private static String parseStringValue(String json, String key, SymbolTable symbols) {
         String search = "\"" + key + "\"";
         int keyPos = json.indexOf(search);
         if (keyPos == -1) return "";
@@ -103,11 +220,14 @@ public class JSONParser {
         int colonPos = json.indexOf(':', keyPos);
         int quoteStart = json.indexOf('"', colonPos);
         int quoteEnd = json.indexOf('"', quoteStart + 1);
+        if (quoteStart == -1 || quoteEnd == -1) {
+            throw new IllegalArgumentException("Unterminated string for \"" + key + "\"");
+        }
 
-        return json.substring(quoteStart + 1, quoteEnd);
+        return symbols.canonical(json, quoteStart + 1, quoteEnd);
     }
 
-    private static List<String> parseStringArray(String json, String key) {
+    private static List<String> parseStringArray(String json, String key, SymbolTable symbols) {
         List<String> result = new ArrayList<>();
 
         String search = "\"" + key + "\"";
@@ -117,26 +237,107 @@ public class JSONParser {
         int arrayStart = json.indexOf('[', keyPos);
         int arrayEnd = findMatchingBracket(json, arrayStart);
 
+        if (arrayEnd == -1) {
+            throw new IllegalArgumentException("Unterminated \"" + key + "\" array");
+        }
+
+        int pos = arrayStart + 1;
+        while (pos < arrayEnd) {
+            int quoteStart = json.indexOf('"', pos);
+            if (quoteStart == -1 || quoteStart >= arrayEnd) break;
+
+            int quoteEnd = json.indexOf('"', quoteStart + 1);
+            if (quoteEnd == -1 || quoteEnd >= arrayEnd) break;
+
+            result.add(symbols.canonical(json, quoteStart + 1, quoteEnd));
+
+            pos = quoteEnd + 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Position of a key of the outermost object, or -1; keys of nested objects and
+     * text inside string values (a vertex named "points", say) do not count
+     */
+    private static int findObjectKey(String json, String key) {
+        int depth = 0;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c == '"') {
+                int end = i + 1;
+                while (end < json.length() && json.charAt(end) != '"') {
+                    end += json.charAt(end) == '\\' ? 2 : 1;
+                }
+                int next = end + 1;
+                while (next < json.length() && json.charAt(next) == ' ') {
+                    next++;
+                }
+                if (depth == 1 && next < json.length() && json.charAt(next) == ':'
+                        && json.regionMatches(i + 1, key, 0, key.length()) && end - i - 1 == key.length()) {
+                    return i;
+                }
+                i = end;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parse "points": [[x, y], ...] starting at the key's position. Points are named from
+     * "nodes", which must then list one name per point, or "P0", "P1", ... without it.
+     */
+    private static PointSet parsePointSet(String json, int pointsStart, List<String> nodes) {
+        int arrayStart = json.indexOf('[', pointsStart);
+        int arrayEnd = findMatchingBracket(json, arrayStart);
+
         String arrayContent = json.substring(arrayStart + 1, arrayEnd);
 
+        List<double[]> coordinates = new ArrayList<>();
         int pos = 0;
         while (pos < arrayContent.length()) {
-            int quoteStart = arrayContent.indexOf('"', pos);
-            if (quoteStart == -1) break;
+            int pairStart = arrayContent.indexOf('[', pos);
+            if (pairStart == -1) break;
 
-            int quoteEnd = arrayContent.indexOf('"', quoteStart + 1);
-            if (quoteEnd == -1) break;
+            int pairEnd = arrayContent.indexOf(']', pairStart);
+            String[] parts = arrayContent.substring(pairStart + 1, pairEnd).split(",");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Point must have exactly two coordinates");
+            }
 
-            String value = arrayContent.substring(quoteStart + 1, quoteEnd);
-            result.add(value);
+            double x = Double.parseDouble(parts[0].trim());
+            double y = Double.parseDouble(parts[1].trim());
+            if (!Double.isFinite(x) || !Double.isFinite(y)) {
+                throw new IllegalArgumentException("Point coordinates must be finite: " + x + ", " + y);
+            }
+            coordinates.add(new double[]{x, y});
 
-            pos = quoteEnd + 1;
+            pos = pairEnd + 1;
         }
 
-        return result;
+        int n = coordinates.size();
+        if (!nodes.isEmpty() && nodes.size() != n) {
+            throw new IllegalArgumentException("Got " + nodes.size() + " node names for " + n + " points");
+        }
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        List<String> names = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            xs[i] = coordinates.get(i)[0];
+            ys[i] = coordinates.get(i)[1];
+            names.add(nodes.isEmpty() ? "P" + i : nodes.get(i));
+        }
+
+        return new PointSet(names, xs, ys);
     }
 
-    private static List<EdgeData> parseEdgesArray(String json) {
+    private static List<EdgeData> parseEdgesArray(String json, SymbolTable symbols) {
         List<EdgeData> edges = new ArrayList<>();
 
         int edgesStart = json.indexOf("\"edges\"");
@@ -150,11 +351,11 @@ public class JSONParser {
         List<String> edgeObjects = splitEdgeObjects(arrayContent);
 
         for (String edgeObj : edgeObjects) {
-            String from = parseStringValue(edgeObj, "from");
-            String to = parseStringValue(edgeObj, "to");
-            int weight = parseIntValue(edgeObj, "weight");
+            String from = parseStringValue(edgeObj, "from", symbols);
+            String to = parseStringValue(edgeObj, "to", symbols);
+            String weight = parseRawValue(edgeObj, "weight");
 
-            edges.add(new EdgeData(from, to, weight));
+            edges.add(new EdgeData(from, to, weight.isEmpty() ? "0" : weight));
         }
 
         return edges;
@@ -212,14 +413,14 @@ public class JSONParser {
     }
 
     /**
-     * Container for edge data
+     * Container for edge data; the weight stays as text until the weight type is known
      */
     private static class EdgeData {
         String from;
         String to;
-        int weight;
+        String weight;
 
-        EdgeData(String from, String to, int weight) {
+        EdgeData(String from, String to, String weight) {
             this.from = from;
             this.to = to;
             this.weight = weight;
@@ -230,12 +431,60 @@ public class JSONParser {
      * Container for graph data with ID
      */
     public static class GraphData {
+
+        /**
+         * Primitive weight type of an edge-list graph
+         */
+        public enum WeightType {
+            INT, LONG, DOUBLE
+        }
+
         private final int id;
         private final Graph graph;
+        private final LongGraph longGraph;
+        private final DoubleGraph doubleGraph;
+        private final PointSet points;
 
         public GraphData(int id, Graph graph) {
+            this(id, graph, null, null, null);
+        }
+
+        public GraphData(int id, LongGraph longGraph) {
+            this(id, null, longGraph, null, null);
+        }
+
+        public GraphData(int id, DoubleGraph doubleGraph) {
+            this(id, null, null, doubleGraph, null);
+        }
+
+        public GraphData(int id, PointSet points) {
+            this(id, null, null, null, points);
+        }
+
+        private GraphData(int id, Graph graph, LongGraph longGraph, DoubleGraph doubleGraph,
+                          PointSet points) {
             this.id = id;
             this.graph = graph;
+            this.longGraph = longGraph;
+            this.doubleGraph = doubleGraph;
+            this.points = points;
+        }
+
+        /**
+         * Weight type of an edge-list graph (point sets report DOUBLE)
+         */
+        public WeightType getWeightType() {
+            if (longGraph != null) return WeightType.LONG;
+            if (doubleGraph != null || points != null) return WeightType.DOUBLE;
+            return WeightType.INT;
+        }
+
+        public LongGraph getLongGraph() {
+            return longGraph;
+        }
+
+        public DoubleGraph getDoubleGraph() {
+            return doubleGraph;
         }
 
         public int getId() {
@@ -245,5 +494,36 @@ public class JSONParser {
         public Graph getGraph() {
             return graph;
         }
+
+        public PointSet getPoints() {
+            return points;
+        }
+
+        /**
+         * Number of vertices (or points), whatever the weight type
+         */
+        public int getVertexCount() {
+            if (longGraph != null) return longGraph.getVertexCount();
+            if (doubleGraph != null) return doubleGraph.getVertexCount();
+            if (points != null) return points.size();
+            return graph.getVertexCount();
+        }
+
+        /**
+         * Number of explicit edges; point sets have none
+         */
+        public int getEdgeCount() {
+            if (longGraph != null) return longGraph.getEdgeCount();
+            if (doubleGraph != null) return doubleGraph.getEdgeCount();
+            if (points != null) return 0;
+            return graph.getEdgeCount();
+        }
+
+        /**
+         * Whether this input is a point set rather than an explicit edge list
+         */
+        public boolean isPointSet() {
+            return points != null;
+        }
     }
 }
\ No newline at end of file
@@ -1,7 +1,16 @@
 package com.mst.io;
 
+import com.mst.algorithms.AlgorithmPlanner;
 import com.mst.algorithms.MSTResult;
+import com.mst.algorithms.MSTVerifier;
+import com.mst.algorithms.MultigraphReducer;
+import com.mst.algorithms.SensitivityAnalyzer;
+import com.mst.algorithms.MemoryStats;
+import com.mst.algorithms.SpanningTreeResult;
+import com.mst.distributed.BoruvkaCoordinator;
 import com.mst.graph.Edge;
+import com.mst.profiling.BenchmarkRunner;
+import com.mst.profiling.WriteEvent;
 import java.io.*;
 import java.util.*;
 
@@ -14,68 +23,250 @@ public class JSONWriter {
      * Write MST results to output JSON file
      */
     public static void writeResults(String filename, List<ResultData> results) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
+            writeResults(writer, results, filename);
+        }
+    }
+
+    /**
+     * Stream MST results as JSON, one graph at a time
+     */
+    public static void writeResults(Writer writer, List<ResultData> results) throws IOException {
+        writeResults(writer, results, "stream");
+    }
+
+    private static void writeResults(Writer writer, List<ResultData> results, String destination)
+            throws IOException {
+        ResultStream stream = new ResultStream(writer, destination);
+        for (ResultData result : results) {
+            stream.write(result);
+        }
+        stream.finish();
+    }
+
+    /**
+     * Incremental writer for the results document: each result is formatted and
+     * written as soon as it arrives, and finish() closes the JSON structure
+     */
+    public static class ResultStream implements ResultSink {
+        private final Writer writer;
+        private final String destination;
+        private final WriteEvent event = new WriteEvent();
+        private int count;
+
+        public ResultStream(Writer writer, String destination) throws IOException {
+            this.writer = writer;
+            this.destination = destination;
+            event.begin();
+
+            writer.write("{\n");
+            writer.write("  \"results\": [\n");
+        }
+
+        @Override
+        public void write(ResultData result) throws IOException {
+            if (count > 0) {
+                writer.write(",\n");
+            }
+            writer.write(formatResult(result));
+            count++;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (count > 0) {
+                writer.write("\n");
+            }
+            writer.write("  ]\n");
+            writer.write("}\n");
+            writer.flush();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.destination = destination;
+                event.results = count;
+                event.commit();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static String formatResult(ResultData result) {
         StringBuilder json = new StringBuilder();
 
-        json.append("{\n");
-        json.append("  \"results\": [\n");
+        json.append("    {\n");
+        json.append("      \"graph_id\": ").append(result.graphId).append(",\n");
+
+        // Input stats
+        json.append("      \"input_stats\": {\n");
+        json.append("        \"vertices\": ").append(result.vertexCount).append(",\n");
+        json.append("        \"edges\": ").append(result.edgeCount).append("\n");
+        json.append("      }");
+
+        // Edges removed before solving, when the multigraph was reduced
+        if (result.reduction != null) {
+            MultigraphReducer.Report reduction = result.reduction;
+            json.append(",\n");
+            json.append("      \"reduction\": {");
+            json.append("\"self_loops\": ").append(reduction.getSelfLoops()).append(", ");
+            json.append("\"parallel_edges\": ").append(reduction.getParallelEdges()).append(", ");
+            json.append("\"remaining_edges\": ").append(reduction.getInputEdges() - reduction.getRemovedEdges());
+            json.append(", \"execution_time_ms\": ");
+            json.append(String.format("%.2f", reduction.getExecutionTimeMs()));
+            json.append("}");
+        }
 
-        for (int i = 0; i < results.size(); i++) {
-            ResultData result = results.get(i);
+        // Planner decision, when a single engine was chosen
+        if (result.plan != null) {
+            json.append(",\n");
+            json.append(formatPlan(result.plan));
+        }
 
-            json.append("    {\n");
-            json.append("      \"graph_id\": ").append(result.graphId).append(",\n");
+        // One block per algorithm that was run
+        for (Map.Entry<String, SpanningTreeResult> entry : result.algorithmResults.entrySet()) {
+            json.append(",\n");
+            json.append("      \"").append(entry.getKey()).append("\": ");
+            json.append(formatAlgorithmResult(entry.getValue(), result.graphBytes,
+                    result.verifications.get(entry.getKey()), result.timings.get(entry.getKey())));
+        }
 
-            // Input stats
-            json.append("      \"input_stats\": {\n");
-            json.append("        \"vertices\": ").append(result.vertexCount).append(",\n");
-            json.append("        \"edges\": ").append(result.edgeCount).append("\n");
-            json.append("      },\n");
+        // Per-round traffic of a distributed solve
+        if (result.rounds != null) {
+            json.append(",\n");
+            json.append(formatDistribution(result.workers, result.rounds));
+        }
 
-            // Prim's results
-            json.append("      \"prim\": ");
-            json.append(formatAlgorithmResult(result.primResult));
+        // Weight tolerance of every edge, when requested
+        if (result.sensitivity != null) {
             json.append(",\n");
+            json.append(formatSensitivity(result.sensitivity));
+        }
+        json.append("\n");
+
+        json.append("    }");
+
+        return json.toString();
+    }
+
+    private static String formatDistribution(int workers, List<BoruvkaCoordinator.RoundStats> rounds) {
+        StringBuilder json = new StringBuilder();
 
-            // Kruskal's results
-            json.append("      \"kruskal\": ");
-            json.append(formatAlgorithmResult(result.kruskalResult));
+        json.append("      \"distribution\": {\n");
+        json.append("        \"workers\": ").append(workers).append(",\n");
+        json.append("        \"rounds\": [\n");
+
+        // Round 0 ships the edges to the workers; later rounds exchange merges and candidates
+        for (int i = 0; i < rounds.size(); i++) {
+            BoruvkaCoordinator.RoundStats round = rounds.get(i);
+
+            json.append("          {");
+            json.append("\"round\": ").append(round.getRound()).append(", ");
+            json.append("\"components\": ").append(round.getComponents()).append(", ");
+            json.append("\"merged\": ").append(round.getMerged()).append(", ");
+            json.append("\"bytes_sent\": ").append(round.getBytesSent()).append(", ");
+            json.append("\"bytes_received\": ").append(round.getBytesReceived()).append(", ");
+            json.append("\"time_ms\": ").append(String.format("%.2f", round.getTimeMs()));
+            json.append("}");
+
+            if (i < rounds.size() - 1) {
+                json.append(",");
+            }
             json.append("\n");
+        }
+
+        json.append("        ]\n");
+        json.append("      }");
+
+        return json.toString();
+    }
+
+    private static String formatSensitivity(SensitivityAnalyzer.Report report) {
+        StringBuilder json = new StringBuilder();
+
+        json.append("      \"sensitivity\": {\n");
+        json.append("        \"execution_time_ms\": ");
+        json.append(String.format("%.2f", report.getExecutionTimeMs())).append(",\n");
+        json.append("        \"edges\": [\n");
 
-            json.append("    }");
+        // Tree edges may rise to their bound, non-tree edges may fall to it; null is unbounded
+        for (int i = 0; i < report.getEdgeCount(); i++) {
+            Edge edge = report.getEdge(i);
+            String bound = report.hasBound(i) ? Integer.toString(report.getBound(i)) : "null";
+            boolean tree = report.isTreeEdge(i);
 
-            if (i < results.size() - 1) {
+            json.append("          {");
+            json.append("\"from\": \"").append(escapeString(edge.getFrom())).append("\", ");
+            json.append("\"to\": \"").append(escapeString(edge.getTo())).append("\", ");
+            json.append("\"weight\": ").append(edge.getWeight()).append(", ");
+            json.append("\"in_tree\": ").append(tree).append(", ");
+            json.append("\"min_weight\": ").append(tree ? "null" : bound).append(", ");
+            json.append("\"max_weight\": ").append(tree ? bound : "null");
+            json.append("}");
+
+            if (i < report.getEdgeCount() - 1) {
                 json.append(",");
             }
             json.append("\n");
         }
 
-        json.append("  ]\n");
-        json.append("}\n");
+        json.append("        ]\n");
+        json.append("      }");
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            writer.write(json.toString());
+        return json.toString();
+    }
+
+    private static String formatPlan(AlgorithmPlanner.Plan plan) {
+        StringBuilder json = new StringBuilder();
+
+        json.append("      \"plan\": {\n");
+        json.append("        \"engine\": \"").append(plan.getEngine().key()).append("\",\n");
+        json.append("        \"density\": ").append(String.format("%.4f", plan.getDensity())).append(",\n");
+        json.append("        \"weight_range\": ").append(plan.getWeightRange()).append(",\n");
+        json.append("        \"cores\": ").append(plan.getCores()).append(",\n");
+        json.append("        \"estimated_ms\": {");
+
+        AlgorithmPlanner.Engine[] engines = AlgorithmPlanner.Engine.values();
+        for (int i = 0; i < engines.length; i++) {
+            json.append("\"").append(engines[i].key()).append("\": ");
+            json.append(String.format("%.3f", plan.getEstimateMs(engines[i])));
+            if (i < engines.length - 1) {
+                json.append(", ");
+            }
         }
+
+        json.append("}\n");
+        json.append("      }");
+
+        return json.toString();
     }
 
-    private static String formatAlgorithmResult(MSTResult result) {
+    private static String formatAlgorithmResult(SpanningTreeResult result, long graphBytes,
+                                                MSTVerifier.Report verification, BenchmarkRunner.Report timing) {
         StringBuilder json = new StringBuilder();
 
         json.append("{\n");
 
         // MST edges
         json.append("        \"mst_edges\": [\n");
-        List<Edge> edges = result.getMstEdges();
-
-        for (int i = 0; i < edges.size(); i++) {
-            Edge edge = edges.get(i);
+        int edgeCount = result.getEdgeCount();
 
+        for (int i = 0; i < edgeCount; i++) {
             json.append("          {");
-            json.append("\"from\": \"").append(escapeString(edge.getFrom())).append("\", ");
-            json.append("\"to\": \"").append(escapeString(edge.getTo())).append("\", ");
-            json.append("\"weight\": ").append(edge.getWeight());
+            json.append("\"from\": \"").append(escapeString(result.getEdgeFrom(i))).append("\", ");
+            json.append("\"to\": \"").append(escapeString(result.getEdgeTo(i))).append("\", ");
+            json.append("\"weight\": ").append(result.getEdgeWeightText(i));
             json.append("}");
 
-            if (i < edges.size() - 1) {
+            if (i < edgeCount - 1) {
                 json.append(",");
             }
             json.append("\n");
@@ -84,7 +275,7 @@ public class JSONWriter {
         json.append("        ],\n");
 
         // Total cost
-        json.append("        \"total_cost\": ").append(result.getTotalCost()).append(",\n");
+        json.append("        \"total_cost\": ").append(result.getTotalCostText()).append(",\n");
 
         // Operations count
         json.append("        \"operations_count\": ").append(result.getOperationsCount()).append(",\n");
@@ -92,6 +283,40 @@ public class JSONWriter {
         // Execution time
         json.append("        \"execution_time_ms\": ");
         json.append(String.format("%.2f", result.getExecutionTimeMs()));
+
+        // Memory footprint
+        MemoryStats memory = result.getMemoryStats();
+        if (memory != null) {
+            json.append(",\n");
+            json.append("        \"memory\": {");
+            json.append("\"graph_bytes\": ").append(graphBytes).append(", ");
+            json.append("\"auxiliary_bytes\": ").append(memory.getAuxiliaryBytes()).append(", ");
+            json.append("\"allocated_bytes\": ").append(memory.getAllocatedBytes());
+            json.append("}");
+        }
+
+        // Verification outcome
+        if (verification != null) {
+            json.append(",\n");
+            json.append("        \"verified\": ").append(verification.isValid()).append(",\n");
+            json.append("        \"verification_time_ms\": ");
+            json.append(String.format("%.2f", verification.getExecutionTimeMs()));
+        }
+
+        // Steady-state latency over repeated runs, when benchmarking
+        if (timing != null) {
+            json.append(",\n");
+            json.append("        \"benchmark\": {");
+            json.append("\"warmup\": ").append(timing.getWarmup()).append(", ");
+            json.append("\"iterations\": ").append(timing.getIterations()).append(", ");
+            json.append("\"gc\": ").append(timing.isGc()).append(", ");
+            json.append("\"min_ms\": ").append(String.format("%.3f", timing.getMinMs())).append(", ");
+            json.append("\"median_ms\": ").append(String.format("%.3f", timing.getMedianMs())).append(", ");
+            json.append("\"p90_ms\": ").append(String.format("%.3f", timing.getP90Ms())).append(", ");
+            json.append("\"p99_ms\": ").append(String.format("%.3f", timing.getP99Ms())).append(", ");
+            json.append("\"allocated_bytes_per_solve\": ").append(timing.getAllocatedBytesPerSolve());
+            json.append("}");
+        }
         json.append("\n");
 
         json.append("      }");
@@ -116,16 +341,129 @@ public class JSONWriter {
         private final int graphId;
         private final int vertexCount;
         private final int edgeCount;
-        private final MSTResult primResult;
-        private final MSTResult kruskalResult;
+        private final Map<String, SpanningTreeResult> algorithmResults;
+        private AlgorithmPlanner.Plan plan;
+        private final Map<String, MSTVerifier.Report> verifications = new HashMap<>();
+        private final Map<String, BenchmarkRunner.Report> timings = new HashMap<>();
+        private SensitivityAnalyzer.Report sensitivity;
+        private int workers;
+        private MultigraphReducer.Report reduction;
+        private List<BoruvkaCoordinator.RoundStats> rounds;
+        private long graphBytes = -1;
 
         public ResultData(int graphId, int vertexCount, int edgeCount,
                           MSTResult primResult, MSTResult kruskalResult) {
+            this(graphId, vertexCount, edgeCount, new LinkedHashMap<>());
+            algorithmResults.put("prim", primResult);
+            algorithmResults.put("kruskal", kruskalResult);
+        }
+
+        /**
+         * Results keyed by algorithm name, written in insertion order
+         */
+        public ResultData(int graphId, int vertexCount, int edgeCount,
+                          Map<String, SpanningTreeResult> algorithmResults) {
             this.graphId = graphId;
             this.vertexCount = vertexCount;
             this.edgeCount = edgeCount;
-            this.primResult = primResult;
-            this.kruskalResult = kruskalResult;
+            this.algorithmResults = algorithmResults;
+        }
+
+        public int getGraphId() {
+            return graphId;
+        }
+
+        public int getVertexCount() {
+            return vertexCount;
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        /**
+         * Results keyed by algorithm name, in the order they are written
+         */
+        public Map<String, SpanningTreeResult> getAlgorithmResults() {
+            return algorithmResults;
+        }
+
+        /**
+         * Verification of one algorithm's tree, or null if it was not verified
+         */
+        public MSTVerifier.Report getVerification(String algorithm) {
+            return verifications.get(algorithm);
+        }
+
+        /**
+         * Add one more algorithm's result, written after the existing ones
+         */
+        public void addAlgorithmResult(String algorithm, SpanningTreeResult result) {
+            algorithmResults.put(algorithm, result);
+        }
+
+        /**
+         * Retained bytes of the solved graph, or -1 if it was not estimated
+         */
+        public long getGraphBytes() {
+            return graphBytes;
+        }
+
+        /**
+         * Record the retained bytes of the solved graph, shared by every algorithm's memory block
+         */
+        public void setGraphBytes(long graphBytes) {
+            this.graphBytes = graphBytes;
+        }
+
+        /**
+         * Record the planner decision that selected the single engine in this result
+         */
+        public void setPlan(AlgorithmPlanner.Plan plan) {
+            this.plan = plan;
+        }
+
+        /**
+         * Record the verification of one algorithm's tree
+         */
+        public void setVerification(String algorithm, MSTVerifier.Report report) {
+            verifications.put(algorithm, report);
+        }
+
+        /**
+         * Record the repeated-run timing of one algorithm
+         */
+        public void setTiming(String algorithm, BenchmarkRunner.Report timing) {
+            timings.put(algorithm, timing);
+        }
+
+        /**
+         * Weight tolerances of the input graph's edges, or null if they were not computed
+         */
+        public SensitivityAnalyzer.Report getSensitivity() {
+            return sensitivity;
+        }
+
+        /**
+         * Record the weight tolerances of the graph's edges
+         */
+        public void setSensitivity(SensitivityAnalyzer.Report sensitivity) {
+            this.sensitivity = sensitivity;
+        }
+
+        /**
+         * Record the parallel edges and self-loops removed before solving
+         */
+        public void setReduction(MultigraphReducer.Report reduction) {
+            this.reduction = reduction;
+        }
+
+        /**
+         * Record the per-round traffic of a solve spread over worker processes
+         */
+        public void setDistribution(int workers, List<BoruvkaCoordinator.RoundStats> rounds) {
+            this.workers = workers;
+            this.rounds = rounds;
         }
     }
 }
\ No newline at end of file
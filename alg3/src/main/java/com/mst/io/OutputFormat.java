@@ -0,0 +1,37 @@
+package com.mst.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Result file formats selectable from the command line
+ */
+public enum OutputFormat {
+    /** Pretty-printed JSON document (JSONWriter) */
+    JSON,
+    /** Columnar binary file with a shared vertex table (BinaryResultWriter) */
+    BINARY;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Open a result file, optionally behind a streaming GZIP layer
+     */
+    public ResultSink open(String filename, boolean compress) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(filename), BUFFER_SIZE);
+        try {
+            if (compress) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            if (this == BINARY) {
+                return new BinaryResultWriter(out, filename);
+            }
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            return new JSONWriter.ResultStream(writer, filename);
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.mst.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination that results are streamed into one graph at a time, in some output format
+ */
+public interface ResultSink extends Closeable {
+
+    void write(JSONWriter.ResultData result) throws IOException;
+
+    /**
+     * Number of results written so far
+     */
+    int getCount();
+
+    /**
+     * Complete the document after the last result; close() then releases the destination
+     */
+    void finish() throws IOException;
+}
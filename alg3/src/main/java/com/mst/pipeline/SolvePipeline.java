@@ -0,0 +1,234 @@
+package com.mst.pipeline;
+
+import com.mst.GraphSolver;
+import com.mst.io.EdgeListReader;
+import com.mst.io.GraphStreamReader;
+import com.mst.io.JSONParser;
+import com.mst.io.JSONWriter;
+import com.mst.io.OutputFormat;
+import com.mst.io.ResultSink;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs parse, solve and write as concurrent stages joined by bounded queues.
+ * One reader thread streams graphs from the input, a pool of solver threads
+ * takes them as they arrive, and one writer thread streams results out in input
+ * order. A window of in-flight graphs caps how far the reader may run ahead of
+ * the writer, so a slow stage holds the others back instead of filling memory.
+ */
+public class SolvePipeline {
+    private final GraphSolver solver;
+    private final int workers;
+    private final int queueCapacity;
+    private final StageMetrics parseMetrics = new StageMetrics("parse");
+    private final StageMetrics solveMetrics = new StageMetrics("solve");
+    private final StageMetrics writeMetrics = new StageMetrics("write");
+    private OutputFormat format = OutputFormat.JSON;
+    private boolean compress;
+
+    public SolvePipeline(GraphSolver solver, int workers, int queueCapacity) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Workers and queue capacity must be positive");
+        }
+        this.solver = solver;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Write results in the given format, optionally GZIP-compressed; JSON by default
+     */
+    public void setOutputFormat(OutputFormat format, boolean compress) {
+        this.format = format;
+        this.compress = compress;
+    }
+
+    /**
+     * Solve every graph of the input file and write the results, returning how many were written
+     */
+    public int run(String inputFile, String outputFile) throws IOException, InterruptedException {
+        BlockingQueue<Item> graphs = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> results = new ArrayBlockingQueue<>(queueCapacity);
+        // Both queues full plus one graph in every solver
+        Semaphore window = new Semaphore(2 * queueCapacity + workers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        int[] written = new int[1];
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> read(inputFile, graphs, window), "mst-parse"));
+        for (int i = 0; i < workers; i++) {
+            threads.add(new Thread(() -> solve(graphs, results), "mst-solve-" + i));
+        }
+        threads.add(new Thread(() -> written[0] = write(outputFile, results, window), "mst-write"));
+
+        for (Thread thread : threads) {
+            thread.setUncaughtExceptionHandler((t, e) -> {
+                // The first failure stops every stage; the rest are just interruptions
+                if (failure.compareAndSet(null, e)) {
+                    threads.forEach(Thread::interrupt);
+                }
+            });
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) error).getCause();
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return written[0];
+    }
+
+    private void read(String inputFile, BlockingQueue<Item> graphs, Semaphore window) {
+        try {
+            long sequence = 0;
+            if (inputFile.endsWith(".json")) {
+                try (GraphStreamReader reader = new GraphStreamReader(inputFile)) {
+                    while (true) {
+                        long startTime = System.nanoTime();
+                        JSONParser.GraphData graphData = reader.next();
+                        if (graphData == null) {
+                            break;
+                        }
+                        parseMetrics.recordItem(System.nanoTime() - startTime);
+                        admit(window);
+                        put(graphs, new Item(sequence++, graphData, null), parseMetrics);
+                    }
+                }
+            } else {
+                long startTime = System.nanoTime();
+                JSONParser.GraphData graphData = EdgeListReader.parseInputFile(inputFile, 1);
+                parseMetrics.recordItem(System.nanoTime() - startTime);
+                admit(window);
+                put(graphs, new Item(sequence, graphData, null), parseMetrics);
+            }
+
+            // One end marker per solver
+            for (int i = 0; i < workers; i++) {
+                put(graphs, Item.END, parseMetrics);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void solve(BlockingQueue<Item> graphs, BlockingQueue<Item> results) {
+        try {
+            while (true) {
+                Item item = take(graphs, solveMetrics);
+                if (item == Item.END) {
+                    put(results, Item.END, solveMetrics);
+                    return;
+                }
+
+                long startTime = System.nanoTime();
+                // Disconnected graphs still pass through as null so the writer's sequence advances
+                JSONWriter.ResultData result = solver.solve(item.graphData, null);
+                solveMetrics.recordItem(System.nanoTime() - startTime);
+                put(results, new Item(item.sequence, null, result), solveMetrics);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int write(String outputFile, BlockingQueue<Item> results, Semaphore window) {
+        try (ResultSink stream = format.open(outputFile, compress)) {
+            // Results finish out of order; hold them until every earlier one is written
+            Map<Long, Item> reorder = new HashMap<>();
+            long nextSequence = 0;
+            int finishedWorkers = 0;
+
+            while (finishedWorkers < workers) {
+                Item item = take(results, writeMetrics);
+                if (item == Item.END) {
+                    finishedWorkers++;
+                    continue;
+                }
+
+                long startTime = System.nanoTime();
+                reorder.put(item.sequence, item);
+                writeMetrics.sampleDepth(reorder.size());
+                Item ready;
+                while ((ready = reorder.remove(nextSequence)) != null) {
+                    if (ready.result != null) {
+                        stream.write(ready.result);
+                    }
+                    nextSequence++;
+                    window.release();
+                }
+                writeMetrics.recordItem(System.nanoTime() - startTime);
+            }
+
+            stream.finish();
+            return stream.getCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    /**
+     * Wait until the writer has drained enough earlier graphs for one more to enter
+     */
+    private void admit(Semaphore window) throws InterruptedException {
+        long startTime = System.nanoTime();
+        window.acquire();
+        parseMetrics.recordBlocked(System.nanoTime() - startTime);
+    }
+
+    private static void put(BlockingQueue<Item> queue, Item item, StageMetrics metrics) throws InterruptedException {
+        long startTime = System.nanoTime();
+        queue.put(item);
+        metrics.recordBlocked(System.nanoTime() - startTime);
+        metrics.sampleDepth(queue.size());
+    }
+
+    private static Item take(BlockingQueue<Item> queue, StageMetrics metrics) throws InterruptedException {
+        long startTime = System.nanoTime();
+        Item item = queue.take();
+        metrics.recordBlocked(System.nanoTime() - startTime);
+        return item;
+    }
+
+    /**
+     * Metrics of the parse, solve and write stages, in pipeline order.
+     * Queue depth is that of the queue each stage feeds; for the writer it is the reorder buffer.
+     */
+    public List<StageMetrics> getMetrics() {
+        return List.of(parseMetrics, solveMetrics, writeMetrics);
+    }
+
+    /**
+     * A graph or its result, tagged with its position in the input
+     */
+    private static class Item {
+        static final Item END = new Item(-1, null, null);
+
+        final long sequence;
+        final JSONParser.GraphData graphData;
+        final JSONWriter.ResultData result;
+
+        Item(long sequence, JSONParser.GraphData graphData, JSONWriter.ResultData result) {
+            this.sequence = sequence;
+            this.graphData = graphData;
+            this.result = result;
+        }
+    }
+}
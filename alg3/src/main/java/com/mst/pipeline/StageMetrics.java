@@ -0,0 +1,77 @@
+package com.mst.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one pipeline stage: items handled, time spent working, time spent
+ * blocked on a neighbouring queue, and the depth of the queue the stage feeds,
+ * sampled on every hand-off. Shared by all threads of the stage.
+ */
+public class StageMetrics {
+    private final String name;
+    private final LongAdder items = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAdder depthSamples = new LongAdder();
+    private final LongAdder depthTotal = new LongAdder();
+    private final AtomicLong maxDepth = new AtomicLong();
+
+    public StageMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordItem(long busy) {
+        items.increment();
+        busyNanos.add(busy);
+    }
+
+    void recordBlocked(long blocked) {
+        blockedNanos.add(blocked);
+    }
+
+    void sampleDepth(int depth) {
+        depthSamples.increment();
+        depthTotal.add(depth);
+        maxDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getItems() {
+        return items.sum();
+    }
+
+    public double getBusyMs() {
+        return busyNanos.sum() / 1_000_000.0;
+    }
+
+    public double getBlockedMs() {
+        return blockedNanos.sum() / 1_000_000.0;
+    }
+
+    /**
+     * Items per second of working time, summed over the stage's threads
+     */
+    public double getThroughput() {
+        long busy = busyNanos.sum();
+        return busy == 0 ? 0 : items.sum() / (busy / 1_000_000_000.0);
+    }
+
+    public double getAverageDepth() {
+        long samples = depthSamples.sum();
+        return samples == 0 ? 0 : (double) depthTotal.sum() / samples;
+    }
+
+    public long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-6s %6d items, %10.2f items/s, busy %.2f ms, blocked %.2f ms, queue depth avg %.2f max %d",
+                name, getItems(), getThroughput(), getBusyMs(), getBlockedMs(), getAverageDepth(), getMaxDepth());
+    }
+}
@@ -0,0 +1,131 @@
+package com.mst.profiling;
+
+import com.mst.algorithms.MemoryStats;
+import com.mst.algorithms.SpanningTreeResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Repeats one solve in-process to measure its steady-state latency: warm-up runs
+ * let the JIT compile the engine and load its classes, then every timed run is
+ * recorded. Each run contributes the time and allocation the engine measured for
+ * itself, so work the caller wraps around the engine (profiling events, result
+ * bookkeeping) is not counted. Optionally a GC is requested before each run, so
+ * one run's garbage is not collected on the next one's clock.
+ */
+public class BenchmarkRunner {
+    private final int warmup;
+    private final int iterations;
+    private final boolean gc;
+
+    public BenchmarkRunner(int warmup, int iterations, boolean gc) {
+        if (warmup < 0 || iterations < 1) {
+            throw new IllegalArgumentException("Need at least one timed iteration and no negative warm-up");
+        }
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.gc = gc;
+    }
+
+    /**
+     * Run the solve warm-up + iterations times, appending the timing report to the
+     * given list. Returns the result of the last timed run.
+     */
+    public <T extends SpanningTreeResult> T run(Supplier<T> solve, List<Report> reports) {
+        for (int i = 0; i < warmup; i++) {
+            if (gc) {
+                System.gc();
+            }
+            solve.get();
+        }
+
+        long[] nanos = new long[iterations];
+        long allocatedTotal = 0;
+        T result = null;
+        for (int i = 0; i < iterations; i++) {
+            if (gc) {
+                System.gc();
+            }
+            result = solve.get();
+            nanos[i] = Math.round(result.getExecutionTimeMs() * 1_000_000.0);
+
+            MemoryStats memory = result.getMemoryStats();
+            long allocated = memory == null ? -1 : memory.getAllocatedBytes();
+            allocatedTotal = allocated < 0 || allocatedTotal < 0 ? -1 : allocatedTotal + allocated;
+        }
+
+        Arrays.sort(nanos);
+        reports.add(new Report(warmup, gc, nanos, allocatedTotal < 0 ? -1 : allocatedTotal / iterations));
+        return result;
+    }
+
+    /**
+     * Latency distribution of the timed runs and the bytes one solve allocates
+     */
+    public static class Report {
+        private final int warmup;
+        private final boolean gc;
+        private final long[] sortedNanos;
+        private final long allocatedBytesPerSolve;
+
+        Report(int warmup, boolean gc, long[] sortedNanos, long allocatedBytesPerSolve) {
+            this.warmup = warmup;
+            this.gc = gc;
+            this.sortedNanos = sortedNanos;
+            this.allocatedBytesPerSolve = allocatedBytesPerSolve;
+        }
+
+        public int getWarmup() {
+            return warmup;
+        }
+
+        public int getIterations() {
+            return sortedNanos.length;
+        }
+
+        public boolean isGc() {
+            return gc;
+        }
+
+        public double getMinMs() {
+            return sortedNanos[0] / 1_000_000.0;
+        }
+
+        public double getMedianMs() {
+            return getPercentileMs(50);
+        }
+
+        public double getP90Ms() {
+            return getPercentileMs(90);
+        }
+
+        public double getP99Ms() {
+            return getPercentileMs(99);
+        }
+
+        /**
+         * Nearest-rank percentile: the smallest time at least p percent of the runs did not exceed
+         */
+        public double getPercentileMs(double p) {
+            int rank = (int) Math.ceil(p / 100.0 * sortedNanos.length);
+            return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, rank - 1))] / 1_000_000.0;
+        }
+
+        /**
+         * Mean bytes the engine allocated per timed run, or -1 if they were not counted
+         */
+        public long getAllocatedBytesPerSolve() {
+            return allocatedBytesPerSolve;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Benchmark: %d runs after %d warm-up, min %.3f ms, median %.3f ms, "
+                            + "p90 %.3f ms, p99 %.3f ms, allocated %s per solve",
+                    sortedNanos.length, warmup, getMinMs(), getMedianMs(), getP90Ms(), getP99Ms(),
+                    allocatedBytesPerSolve < 0 ? "n/a" : allocatedBytesPerSolve + " B");
+        }
+    }
+}
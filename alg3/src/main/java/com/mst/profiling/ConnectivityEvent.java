@@ -0,0 +1,13 @@
+package com.mst.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.Connectivity")
+@Label("Connectivity Check")
+@Description("Connectivity check of one input graph")
+public class ConnectivityEvent extends GraphEvent {
+    @Label("Connected")
+    public boolean connected;
+}
@@ -0,0 +1,21 @@
+package com.mst.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the per-graph phase events; subclasses record the phase duration
+ * tagged with the graph id and size
+ */
+@Category({"MST", "Phases"})
+public abstract class GraphEvent extends Event {
+    @Label("Graph Id")
+    public int graphId;
+
+    @Label("Vertices")
+    public int vertices;
+
+    @Label("Edges")
+    public int edges;
+}
@@ -0,0 +1,25 @@
+package com.mst.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.Parse")
+@Label("Input Parse")
+@Description("Reading and parsing one input batch")
+@Category({"MST", "Phases"})
+public class ParseEvent extends Event {
+    @Label("Source")
+    public String source;
+
+    @Label("Graphs")
+    public int graphs;
+
+    @Label("Vertices")
+    public long vertices;
+
+    @Label("Edges")
+    public long edges;
+}
@@ -0,0 +1,36 @@
+package com.mst.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Starts a flight recording with the JVM's default settings plus the MST phase events.
+ * The events are registered classes, so any other recording (-XX:StartFlightRecording,
+ * jcmd JFR.start) picks them up as well; with no recording running they cost only
+ * an enabled check.
+ */
+public final class PhaseRecording {
+
+    private PhaseRecording() {
+    }
+
+    /**
+     * Start recording to the given file; the recording is also dumped if the JVM exits first
+     */
+    public static Recording start(Path destination) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("mst");
+        recording.enable(ParseEvent.class);
+        recording.enable(ConnectivityEvent.class);
+        recording.enable(SolveEvent.class);
+        recording.enable(WriteEvent.class);
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mst.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.Solve")
+@Label("MST Solve")
+@Description("One engine run on one input graph")
+public class SolveEvent extends GraphEvent {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Operations")
+    public int operations;
+}
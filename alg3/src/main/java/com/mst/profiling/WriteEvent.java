@@ -0,0 +1,19 @@
+package com.mst.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.mst.Write")
+@Label("Result Write")
+@Description("Formatting and writing one result batch")
+@Category({"MST", "Phases"})
+public class WriteEvent extends Event {
+    @Label("Destination")
+    public String destination;
+
+    @Label("Results")
+    public int results;
+}
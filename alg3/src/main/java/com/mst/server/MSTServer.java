@@ -0,0 +1,237 @@
+package com.mst.server;
+
+import com.mst.GraphSolver;
+import com.mst.graph.Graph;
+import com.mst.io.JSONParser;
+import com.mst.io.JSONWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Long-running local HTTP server that solves graphs in the input JSON schema.
+ * Graphs from concurrent requests are queued, drained in batches onto a worker
+ * pool, and the results are streamed back in the JSONWriter output format.
+ *
+ * POST /mst   - solve the graphs in the request body
+ * GET  /stats - throughput and latency counters
+ */
+public class MSTServer {
+    public static final int DEFAULT_PORT = 8085;
+    private static final int MAX_BATCH_SIZE = 32;
+    private static final int WARM_UP_ROUNDS = 2_000;
+
+    private final HttpServer httpServer;
+    private final ExecutorService workers;
+    private final ExecutorService handlers;
+    private final BlockingQueue<SolveTask> pending;
+    private final ServerStats stats;
+    private final GraphSolver solver;
+    private final Thread dispatcher;
+    private volatile boolean running;
+
+    public MSTServer(int port, int workerThreads, GraphSolver solver) throws IOException {
+        this.httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.handlers = Executors.newCachedThreadPool();
+        this.pending = new LinkedBlockingQueue<>();
+        this.stats = new ServerStats();
+        this.solver = solver;
+        this.dispatcher = new Thread(this::dispatchLoop, "mst-dispatcher");
+        this.dispatcher.setDaemon(true);
+
+        httpServer.createContext("/mst", this::handleSolve);
+        httpServer.createContext("/stats", this::handleStats);
+        httpServer.setExecutor(handlers);
+    }
+
+    public void start() {
+        running = true;
+        dispatcher.start();
+        httpServer.start();
+    }
+
+    public void stop() {
+        running = false;
+        httpServer.stop(0);
+        dispatcher.interrupt();
+        workers.shutdown();
+        handlers.shutdown();
+    }
+
+    /**
+     * Get the bound port (useful when started on port 0)
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public ServerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Run the solve path on synthetic graphs so the first requests hit compiled code
+     */
+    public void warmUp() {
+        Random random = new Random(0);
+
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            int n = 8 + random.nextInt(56);
+            Graph graph = new Graph();
+            for (int v = 1; v < n; v++) {
+                graph.addEdge("V" + random.nextInt(v), "V" + v, 1 + random.nextInt(100));
+            }
+            for (int e = 0; e < n; e++) {
+                graph.addEdge("V" + random.nextInt(n), "V" + random.nextInt(n), 1 + random.nextInt(100));
+            }
+            solver.solve(new JSONParser.GraphData(round, graph), null);
+        }
+    }
+
+    /**
+     * Queue graphs for the worker pool and wait for their results, in input order
+     */
+    public List<JSONWriter.ResultData> solveAll(List<JSONParser.GraphData> graphs)
+            throws InterruptedException, ExecutionException {
+        List<JSONWriter.ResultData> results = new ArrayList<>(graphs.size());
+        for (SolveTask task : submit(graphs)) {
+            JSONWriter.ResultData result = task.future.get();
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Queue graphs for the worker pool, returning their tasks in input order
+     */
+    private List<SolveTask> submit(List<JSONParser.GraphData> graphs) {
+        List<SolveTask> tasks = new ArrayList<>(graphs.size());
+        for (JSONParser.GraphData graphData : graphs) {
+            SolveTask task = new SolveTask(graphData);
+            tasks.add(task);
+            pending.add(task);
+        }
+        return tasks;
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long startTime = System.nanoTime();
+
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendText(exchange, 405, "Use POST with a graphs JSON body\n");
+                return;
+            }
+
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            List<SolveTask> tasks;
+
+            try {
+                tasks = submit(JSONParser.parseInput(body));
+            } catch (RuntimeException e) {
+                stats.recordError();
+                sendText(exchange, 400, "Error: " + e.getMessage() + "\n");
+                return;
+            }
+
+            // Chunked response: each result is written as soon as it and all earlier ones are solved
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+            JSONWriter.ResultStream stream = new JSONWriter.ResultStream(writer, "http");
+
+            try {
+                for (SolveTask task : tasks) {
+                    JSONWriter.ResultData result = task.future.get();
+                    if (result != null) {
+                        stream.write(result);
+                        writer.flush();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stats.recordError();
+                return;
+            } catch (ExecutionException e) {
+                // The status is already sent, so a failed solve leaves the document unterminated
+                stats.recordError();
+                return;
+            }
+            stream.finish();
+
+            stats.recordRequest(System.nanoTime() - startTime);
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            sendText(exchange, 200, stats.toJson());
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * Drain queued graphs into batches so many small requests share one pool task
+     */
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                SolveTask first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<SolveTask> batch = new ArrayList<>(MAX_BATCH_SIZE);
+                batch.add(first);
+                pending.drainTo(batch, MAX_BATCH_SIZE - 1);
+                workers.execute(() -> runBatch(batch));
+            } catch (InterruptedException e) {
+                return;
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    private void runBatch(List<SolveTask> batch) {
+        stats.recordBatch(batch.size());
+        for (SolveTask task : batch) {
+            try {
+                JSONWriter.ResultData result = solver.solve(task.graphData, null);
+                // Counted before completion, so a finished request always sees its graphs in the stats
+                stats.recordGraph();
+                task.future.complete(result);
+            } catch (RuntimeException e) {
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * One queued graph and the future its request is waiting on
+     */
+    private static class SolveTask {
+        final JSONParser.GraphData graphData;
+        final CompletableFuture<JSONWriter.ResultData> future;
+
+        SolveTask(JSONParser.GraphData graphData) {
+            this.graphData = graphData;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
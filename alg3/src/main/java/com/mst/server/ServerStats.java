@@ -0,0 +1,82 @@
+package com.mst.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency counters for the MST server
+ */
+public class ServerStats {
+    private final long startTime = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder graphsSolved = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedGraphs = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    void recordRequest(long latencyNanos) {
+        requests.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordBatch(int size) {
+        batches.increment();
+        batchedGraphs.add(size);
+    }
+
+    void recordGraph() {
+        graphsSolved.increment();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getGraphsSolved() {
+        return graphsSolved.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Format the counters as a JSON object
+     */
+    public String toJson() {
+        long requestCount = requests.sum();
+        long graphCount = graphsSolved.sum();
+        long batchCount = batches.sum();
+        double uptimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        double avgLatencyMs = requestCount == 0 ? 0 : totalLatencyNanos.sum() / 1_000_000.0 / requestCount;
+        double avgBatchSize = batchCount == 0 ? 0 : (double) batchedGraphs.sum() / batchCount;
+        double throughput = uptimeMs == 0 ? 0 : graphCount / (uptimeMs / 1000.0);
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"uptime_ms\": ").append(String.format("%.2f", uptimeMs)).append(",\n");
+        json.append("  \"requests\": ").append(requestCount).append(",\n");
+        json.append("  \"errors\": ").append(errors.sum()).append(",\n");
+        json.append("  \"graphs_solved\": ").append(graphCount).append(",\n");
+        json.append("  \"batches\": ").append(batchCount).append(",\n");
+        json.append("  \"avg_batch_size\": ").append(String.format("%.2f", avgBatchSize)).append(",\n");
+        json.append("  \"throughput_graphs_per_sec\": ").append(String.format("%.2f", throughput)).append(",\n");
+        json.append("  \"avg_request_latency_ms\": ").append(String.format("%.2f", avgLatencyMs)).append(",\n");
+        json.append("  \"max_request_latency_ms\": ")
+                .append(String.format("%.2f", maxLatencyNanos.get() / 1_000_000.0)).append("\n");
+        json.append("}\n");
+        return json.toString();
+    }
+}
@@ -1,10 +1,36 @@
 package com.mst;
 
 import com.mst.algorithms.*;
+import com.mst.distributed.*;
 import com.mst.graph.*;
+import com.mst.io.*;
+import com.mst.pipeline.SolvePipeline;
+import com.mst.profiling.BenchmarkRunner;
+import com.mst.server.*;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 /**
  * Comprehensive test suite for MST algorithms
@@ -179,6 +205,857 @@ public class MSTAlgorithmTest {
                 "Kruskal's should complete in reasonable time");
     }
 
+    @Test
+    @DisplayName("Euclidean MST on a unit grid")
+    public void testEuclideanGrid() {
+        int side = 10;
+        List<String> names = new ArrayList<>();
+        double[] xs = new double[side * side];
+        double[] ys = new double[side * side];
+        for (int i = 0; i < side * side; i++) {
+            names.add("P" + i);
+            xs[i] = i % side;
+            ys[i] = i / side;
+        }
+
+        EuclideanMSTAlgorithm euclidean = new EuclideanMSTAlgorithm();
+        DoubleMSTResult result = euclidean.findMST(new PointSet(names, xs, ys));
+
+        assertEquals(side * side - 1, result.getMstEdges().size());
+        assertEquals(side * side - 1, result.getTotalCost(), 1e-9,
+                "Every grid MST edge has unit length");
+    }
+
+    @Test
+    @DisplayName("Euclidean MST matches Prim on collinear points")
+    public void testEuclideanMatchesPrim() {
+        Random random = new Random(42);
+        int n = 60;
+        List<String> names = new ArrayList<>();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        Graph graph = new Graph();
+
+        for (int i = 0; i < n; i++) {
+            names.add("P" + i);
+            xs[i] = random.nextInt(1000);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                graph.addEdge(names.get(i), names.get(j), (int) Math.abs(xs[i] - xs[j]));
+            }
+        }
+
+        DoubleMSTResult euclideanResult = new EuclideanMSTAlgorithm().findMST(new PointSet(names, xs, ys));
+        MSTResult primResult = new PrimAlgorithm().findMST(graph);
+
+        assertEquals(primResult.getTotalCost(), euclideanResult.getTotalCost(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Boruvka matches Kruskal on random graphs")
+    public void testBoruvkaMatchesKruskal() {
+        Random random = new Random(7);
+
+        for (int round = 0; round < 20; round++) {
+            Graph graph = new Graph();
+            int n = 2 + random.nextInt(200);
+            for (int v = 1; v < n; v++) {
+                graph.addEdge("V" + random.nextInt(v), "V" + v, random.nextInt(50));
+            }
+            for (int e = 0; e < 3 * n; e++) {
+                graph.addEdge("V" + random.nextInt(n), "V" + random.nextInt(n), random.nextInt(50));
+            }
+
+            MSTResult boruvkaResult = new BoruvkaAlgorithm().findMST(graph);
+            MSTResult kruskalResult = new KruskalAlgorithm().findMST(graph);
+
+            assertEquals(kruskalResult.getTotalCost(), boruvkaResult.getTotalCost());
+            assertEquals(n - 1, boruvkaResult.getMstEdges().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Planner runs a single engine with the optimal cost")
+    public void testPlannerChoosesEngine() {
+        Graph graph = createSimpleGraph();
+
+        AlgorithmPlanner.Plan plan = new AlgorithmPlanner().plan(graph);
+        MSTResult result = plan.getEngine().run(graph);
+
+        assertNotNull(plan.getEngine());
+        assertEquals(16, result.getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Path maximum index answers tree path queries")
+    public void testPathMaxIndex() {
+        Graph graph = createSimpleGraph();
+        MSTResult result = new KruskalAlgorithm().findMST(graph);
+        PathMaxIndex index = new PathMaxIndex(result);
+
+        // MST: B-C [2], A-C [3], B-D [5], D-E [6]
+        assertEquals(3, index.pathMax("A", "B"));
+        assertEquals(6, index.pathMax("A", "E"));
+        assertEquals(5, index.pathMax("C", "D"));
+        assertEquals(0, index.pathMax("C", "C"));
+        assertTrue(index.improvesTree("A", "E", 4));
+        assertFalse(index.improvesTree("C", "D", 7));
+
+        Edge[] answers = index.maxEdges(new String[]{"E", "B"}, new String[]{"C", "A"});
+        assertEquals(6, answers[0].getWeight());
+        assertEquals(3, answers[1].getWeight());
+    }
+
+    @Test
+    @DisplayName("Reused workspace gives the same results across graphs")
+    public void testWorkspaceReuse() {
+        SolverWorkspace workspace = new SolverWorkspace();
+        PrimAlgorithm prim = new PrimAlgorithm();
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+        Graph large = new Graph();
+        for (int i = 0; i < 20; i++) {
+            for (int j = i + 1; j < 20; j++) {
+                large.addEdge("V" + i, "V" + j, (i * 7 + j * 3) % 11 + 1);
+            }
+        }
+        int expected = kruskal.findMST(large).getTotalCost();
+
+        // Grow the workspace on the large graph, then shrink back to a small one
+        assertEquals(expected, prim.findMST(large, workspace).getTotalCost());
+        assertEquals(16, kruskal.findMST(createSimpleGraph(), workspace).getTotalCost());
+        assertEquals(16, prim.findMST(createSimpleGraph(), workspace).getTotalCost());
+        assertEquals(expected, kruskal.findMST(large, workspace).getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Long and double weighted graphs keep full precision")
+    public void testWideWeights() {
+        LongGraph longGraph = new LongGraph();
+        longGraph.addEdge("A", "B", 3_000_000_000L);
+        longGraph.addEdge("B", "C", 4_000_000_000L);
+        longGraph.addEdge("A", "C", 5_000_000_000L);
+
+        LongMSTResult longPrim = new LongPrimAlgorithm().findMST(longGraph);
+        LongMSTResult longKruskal = new LongKruskalAlgorithm().findMST(longGraph);
+        assertEquals(7_000_000_000L, longPrim.getTotalCost());
+        assertEquals(7_000_000_000L, longKruskal.getTotalCost());
+
+        DoubleGraph doubleGraph = new DoubleGraph();
+        doubleGraph.addEdge("A", "B", 0.25);
+        doubleGraph.addEdge("B", "C", -1.5);
+        doubleGraph.addEdge("A", "C", 0.5);
+
+        DoubleMSTResult doublePrim = new DoublePrimAlgorithm().findMST(doubleGraph);
+        DoubleMSTResult doubleKruskal = new DoubleKruskalAlgorithm().findMST(doubleGraph);
+        assertEquals(-1.25, doublePrim.getTotalCost(), 1e-12);
+        assertEquals(-1.25, doubleKruskal.getTotalCost(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Results report the memory footprint of the solve")
+    public void testMemoryStats() {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "C", 3);
+
+        MSTResult result = new KruskalAlgorithm().findMST(graph);
+        MemoryStats memory = result.getMemoryStats();
+
+        assertNotNull(memory);
+        // Sorted edge ids (16 + 3 * 8 = 40), parent and rank (2 * 32) and find's path buffer (32)
+        assertEquals(136, memory.getAuxiliaryBytes());
+        // Table of 16 slots (16 + 16 * 4 = 80) behind the map object (40) and three nodes (3 * 32)
+        assertEquals(216, MemoryLayout.hashMap(3));
+
+        // Grown without solving, so no indexed view is counted
+        Graph growing = new Graph();
+        growing.addEdge("A", "B", 4);
+        long oneEdge = growing.estimateRetainedBytes();
+        growing.addEdge("B", "C", 2);
+        long newVertex = growing.estimateRetainedBytes();
+        growing.addEdge("A", "C", 3);
+        long newEdge = growing.estimateRetainedBytes();
+        assertTrue(newVertex > oneEdge + 2 * MemoryLayout.object(3), "A vertex and an edge add to the estimate");
+        assertTrue(newEdge >= newVertex + 2 * MemoryLayout.object(3), "An edge adds its two Edge objects");
+
+        // The graph is estimated once per solve, outside the engines
+        JSONWriter.ResultData data = new GraphSolver(GraphSolver.Mode.VERIFY, new AlgorithmPlanner())
+                .solve(new JSONParser.GraphData(1, graph), null);
+        assertEquals(graph.estimateRetainedBytes(), data.getGraphBytes());
+    }
+
+    @Test
+    @DisplayName("Verifier accepts minimum trees and rejects others")
+    public void testVerifier() {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 3);
+        graph.addEdge("A", "D", 4);
+        graph.addEdge("A", "C", 5);
+
+        MSTVerifier verifier = new MSTVerifier();
+        assertTrue(verifier.verify(graph, new KruskalAlgorithm().findMST(graph)).isValid());
+
+        // Spanning, but A-D is heavier than C-D, which closes the same cycle
+        List<Edge> heavier = List.of(new Edge("A", "B", 1), new Edge("B", "C", 2), new Edge("A", "D", 4));
+        assertFalse(verifier.verify(graph, new MSTResult(heavier, 7, 0, 0)).isValid());
+
+        // Cheaper than the MST, but B-D is not an edge of the graph
+        List<Edge> invented = List.of(new Edge("A", "B", 1), new Edge("B", "C", 2), new Edge("B", "D", 0));
+        assertFalse(verifier.verify(graph, new MSTResult(invented, 3, 0, 0)).isValid());
+
+        // The right tree with a wrong total
+        List<Edge> tree = new KruskalAlgorithm().findMST(graph).getMstEdges();
+        MSTVerifier.Report wrongTotal = verifier.verify(graph, new MSTResult(tree, 7, 0, 0));
+        assertFalse(wrongTotal.isValid());
+        assertEquals("Total cost 7 does not match the tree's edge weights, which sum to 6", wrongTotal.getFailure());
+    }
+
+    @Test
+    @DisplayName("Sensitivity bounds tree and non-tree edges")
+    public void testSensitivity() {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 3);
+        graph.addEdge("A", "D", 4);
+        graph.addEdge("D", "E", 6);
+
+        SensitivityAnalyzer.Report report =
+                new SensitivityAnalyzer().analyze(graph, new KruskalAlgorithm().findMST(graph));
+
+        // Edges in insertion order: every tree edge on the A-D cycle can rise to 4, A-D can fall to 3
+        assertTrue(report.isTreeEdge(0));
+        assertEquals(4, report.getBound(0));
+        assertEquals(4, report.getBound(2));
+        assertFalse(report.isTreeEdge(3));
+        assertEquals(3, report.getBound(3));
+        // D-E is a bridge: no weight change alters the tree
+        assertTrue(report.isTreeEdge(4));
+        assertFalse(report.hasBound(4));
+    }
+
+    @Test
+    @DisplayName("Streaming reader yields the same graphs as the batch parser")
+    public void testGraphStreamReader() throws Exception {
+        String input = "{\n  \"graphs\": [\n"
+                + "    {\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"],\n"
+                + "     \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 1},\n"
+                + "               {\"from\": \"B\", \"to\": \"C\", \"weight\": 2}]},\n"
+                + "    {\"id\": 2, \"nodes\": [\"{x}\", \"y\"],\n"
+                + "     \"edges\": [{\"from\": \"{x}\", \"to\": \"y\", \"weight\": 5}]}\n"
+                + "  ]\n}\n";
+
+        List<JSONParser.GraphData> batch = JSONParser.parseInput(input);
+        List<JSONParser.GraphData> streamed = new ArrayList<>();
+        try (GraphStreamReader reader = new GraphStreamReader(new StringReader(input), "test")) {
+            JSONParser.GraphData graphData;
+            while ((graphData = reader.next()) != null) {
+                streamed.add(graphData);
+            }
+        }
+
+        assertEquals(2, streamed.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.get(i).getId(), streamed.get(i).getId());
+            assertEquals(batch.get(i).getVertexCount(), streamed.get(i).getVertexCount());
+            assertEquals(batch.get(i).getEdgeCount(), streamed.get(i).getEdgeCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Distributed Boruvka matches Kruskal across workers")
+    public void testDistributedBoruvka() throws Exception {
+        Random random = new Random(7);
+        Graph graph = new Graph();
+        for (int i = 1; i < 300; i++) {
+            graph.addEdge("V" + i, "V" + random.nextInt(i), random.nextInt(50));
+        }
+        for (int i = 0; i < 900; i++) {
+            graph.addEdge("V" + random.nextInt(300), "V" + random.nextInt(300), random.nextInt(50));
+        }
+
+        // Workers run on threads here; the CLI starts them as separate processes
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            BoruvkaWorker worker = new BoruvkaWorker(socket);
+            Thread thread = new Thread(() -> {
+                try (socket) {
+                    worker.serve(true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.getPort()));
+        }
+
+        List<BoruvkaCoordinator.RoundStats> rounds = new ArrayList<>();
+        try (BoruvkaCoordinator coordinator = BoruvkaCoordinator.connect(addresses)) {
+            MSTResult result = coordinator.findMST(graph, rounds);
+            assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), result.getTotalCost());
+            assertTrue(new MSTVerifier().verify(graph, result).isValid());
+        }
+        assertTrue(rounds.size() > 1, "Distribution plus at least one merge round");
+        assertTrue(rounds.get(0).getBytesSent() > 0);
+    }
+
+    @Test
+    @DisplayName("Symbol table shares vertex names across a batch")
+    public void testSymbolTable() {
+        SymbolTable symbols = new SymbolTable();
+        String a = symbols.canonical("A", 0, 1);
+        assertTrue(a == symbols.canonical("xAx", 1, 2), "Equal names share one String");
+        String zurich = symbols.canonical("[Zürich]", 1, 7);
+        assertEquals("Zürich", zurich);
+        assertTrue(zurich == symbols.canonical("Zürich", 0, 6));
+        assertEquals(2, symbols.size());
+
+        String input = "{\"graphs\": ["
+                + "{\"id\": 1, \"nodes\": [\"A\", \"B\"], \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}]},"
+                + "{\"id\": 2, \"nodes\": [\"B\", \"A\"], \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 2}]}"
+                + "]}";
+        List<JSONParser.GraphData> graphs = JSONParser.parseInput(input);
+        Edge first = graphs.get(0).getGraph().getEdges().get(0);
+        Edge second = graphs.get(1).getGraph().getEdges().get(0);
+        assertTrue(first.getFrom() == second.getFrom(), "Both graphs hold the same String for A");
+
+        symbols.clear();
+        assertEquals(0, symbols.size());
+        assertTrue(a != symbols.canonical(new String("A"), 0, 1), "A cleared table forgets its names");
+        assertEquals(1, symbols.size());
+    }
+
+    @Test
+    @DisplayName("Multigraph reduction keeps the lightest parallel edge")
+    public void testMultigraphReducer() {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 5);
+        graph.addEdge("B", "A", 2);
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("B", "C", 3);
+        graph.addEdge("C", "C", 1);
+        graph.addEdge("A", "C", 9);
+
+        MultigraphReducer.Report report = new MultigraphReducer().reduce(graph);
+        Graph reduced = report.getGraph();
+
+        assertEquals(1, report.getSelfLoops());
+        assertEquals(2, report.getParallelEdges());
+        assertEquals(3, reduced.getEdgeCount());
+        assertEquals(3, reduced.getVertexCount());
+        // The first of the two equally light A-B edges survives, in input order
+        assertTrue(reduced.getEdges().get(0) == graph.getEdges().get(1));
+        assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(),
+                new KruskalAlgorithm().findMST(reduced).getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Binary results survive a compressed round trip")
+    public void testBinaryResultRoundTrip() throws IOException {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "C", 7);
+        graph.addEdge("C", "D", 3);
+        MSTResult prim = new PrimAlgorithm().findMST(graph);
+        MSTResult kruskal = new KruskalAlgorithm().findMST(graph);
+
+        JSONWriter.ResultData data = new JSONWriter.ResultData(7, 4, 4, prim, kruskal);
+        data.setVerification("prim", new MSTVerifier().verify(graph, prim));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryResultWriter writer = new BinaryResultWriter(new GZIPOutputStream(bytes), "memory")) {
+            writer.write(data);
+            writer.write(data);
+            writer.finish();
+        }
+
+        try (BinaryResultReader reader = new BinaryResultReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            List<JSONWriter.ResultData> results = reader.readAll();
+            assertEquals(2, results.size());
+            // Names are stored once for the whole file
+            assertEquals(4, reader.getVertexNames().size());
+
+            JSONWriter.ResultData read = results.get(1);
+            assertEquals(7, read.getGraphId());
+            MSTResult readPrim = (MSTResult) read.getAlgorithmResults().get("prim");
+            assertEquals(prim.getMstEdges(), readPrim.getMstEdges());
+            assertEquals(prim.getTotalCost(), readPrim.getTotalCost());
+            assertEquals(prim.getOperationsCount(), readPrim.getOperationsCount());
+            assertTrue(read.getVerification("prim").isValid());
+            assertEquals(null, read.getVerification("kruskal"));
+        }
+    }
+
+    @Test
+    @DisplayName("Benchmark runner times only the engine, in the runs after warm-up")
+    public void testBenchmarkRunner() {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "C", 7);
+
+        int[] runs = new int[1];
+        List<BenchmarkRunner.Report> reports = new ArrayList<>();
+        MSTResult result = new BenchmarkRunner(3, 10, false).run(() -> {
+            runs[0]++;
+            MSTResult solved = new KruskalAlgorithm().findMST(graph);
+            // Work around the engine, like the solve event, stays off the clock
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return solved;
+        }, reports);
+
+        assertEquals(13, runs[0]);
+        assertEquals(6, result.getTotalCost());
+        BenchmarkRunner.Report report = reports.get(0);
+        assertEquals(10, report.getIterations());
+        assertTrue(report.getMinMs() <= report.getMedianMs());
+        assertTrue(report.getMedianMs() <= report.getP90Ms());
+        assertTrue(report.getP90Ms() <= report.getP99Ms());
+        assertEquals(report.getPercentileMs(100), report.getP99Ms(), 0.0);
+        assertTrue(report.getP99Ms() < 20, "Only the engine's own time is recorded");
+    }
+
+    @Test
+    @DisplayName("Hybrid engine matches Kruskal for every number of contraction rounds")
+    public void testHybridMSTAlgorithm() {
+        Random random = new Random(5);
+        Graph graph = new Graph();
+        for (int v = 1; v < 300; v++) {
+            graph.addEdge("v" + v, "v" + random.nextInt(v), random.nextInt(50));
+        }
+        for (int e = 0; e < 900; e++) {
+            // Small weight range, self-loops and parallel edges exercise ties and contraction
+            graph.addEdge("v" + random.nextInt(300), "v" + random.nextInt(300), random.nextInt(50));
+        }
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+
+        for (int rounds : new int[]{HybridMSTAlgorithm.AUTO_ROUNDS, 0, 1, 3, 20}) {
+            HybridMSTAlgorithm hybrid = new HybridMSTAlgorithm(rounds);
+            MSTResult result = hybrid.findMST(graph);
+            assertEquals(expected.getTotalCost(), result.getTotalCost());
+            assertTrue(new MSTVerifier().verify(graph, result).isValid());
+            // Every round at least halves the components
+            assertTrue(hybrid.getContractedVertexCount() <= 300 >> hybrid.getContractionRounds());
+        }
+        HybridMSTAlgorithm oneRound = new HybridMSTAlgorithm(1);
+        oneRound.findMST(graph);
+        assertEquals(1, oneRound.getContractionRounds());
+
+        // This graph fits the default budget; a smaller one makes the automatic mode contract
+        HybridMSTAlgorithm fits = new HybridMSTAlgorithm(HybridMSTAlgorithm.AUTO_ROUNDS);
+        fits.findMST(graph);
+        assertEquals(0, fits.getContractionRounds());
+        HybridMSTAlgorithm contracting = new HybridMSTAlgorithm(HybridMSTAlgorithm.AUTO_ROUNDS, 4096);
+        MSTResult contracted = contracting.findMST(graph);
+        assertTrue(contracting.getContractionRounds() > 0, "Auto mode contracts a graph over its budget");
+        assertTrue(contracting.getContractedVertexCount() < 300);
+        assertEquals(expected.getTotalCost(), contracted.getTotalCost());
+        assertTrue(new MSTVerifier().verify(graph, contracted).isValid());
+
+        Graph disconnected = new Graph();
+        disconnected.addEdge("A", "B", 1);
+        disconnected.addEdge("C", "D", 1);
+        assertEquals(0, new HybridMSTAlgorithm(2).findMST(disconnected).getMstEdges().size());
+    }
+
+    @Test
+    @DisplayName("Server streams a batch and counts it")
+    public void testServerStreamsBatch() throws Exception {
+        MSTServer server = new MSTServer(0, 2, new GraphSolver(GraphSolver.Mode.VERIFY, new AlgorithmPlanner()));
+        server.start();
+        try {
+            String body = "{\"graphs\": ["
+                    + "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                    + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 4}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 2},"
+                    + "{\"from\": \"A\", \"to\": \"C\", \"weight\": 3}]},"
+                    + "{\"id\": 2, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}]},"
+                    + "{\"id\": 3, \"nodes\": [\"X\", \"Y\"], \"edges\": [{\"from\": \"X\", \"to\": \"Y\", \"weight\": 7}]}"
+                    + "]}";
+
+            HttpURLConnection connection = (HttpURLConnection)
+                    new URL("http://127.0.0.1:" + server.getPort() + "/mst").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            assertEquals(200, connection.getResponseCode());
+            String response = new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            // The disconnected graph 2 is left out; the others stay in input order
+            assertTrue(response.indexOf("\"graph_id\": 1") < response.indexOf("\"graph_id\": 3"));
+            assertFalse(response.contains("\"graph_id\": 2"));
+            assertTrue(response.contains("\"total_cost\": 5"));
+            assertTrue(response.trim().endsWith("}"));
+
+            ServerStats stats = server.getStats();
+            assertEquals(1, stats.getRequests());
+            assertEquals(3, stats.getGraphsSolved());
+            assertEquals(0, stats.getErrors());
+            assertTrue(stats.getBatches() >= 1);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Edge list reader handles comments, CRLF and lines split across chunks")
+    public void testEdgeListReader() throws IOException {
+        Path file = Files.createTempFile("edges", ".txt");
+        try {
+            // CRLF endings, comments, blank lines, default weights and no final newline
+            Files.writeString(file, "# SNAP header\r\n% comment\r\nalpha beta 4\r\n\r\n"
+                    + "beta gamma\r\n  gamma\talpha -2\r\nalpha,delta,2147483647\r\n"
+                    + "delta beta -2147483648\r\nbeta alpha 7");
+
+            Graph expected = new Graph();
+            expected.addEdge("alpha", "beta", 4);
+            expected.addEdge("beta", "gamma", 1);
+            expected.addEdge("gamma", "alpha", -2);
+            expected.addEdge("alpha", "delta", Integer.MAX_VALUE);
+            expected.addEdge("delta", "beta", Integer.MIN_VALUE);
+            expected.addEdge("beta", "alpha", 7);
+
+            // Chunk sizes of a few bytes end chunks in the middle of lines and names
+            for (long chunkBytes : new long[]{0, 1, 5, 7, 13}) {
+                Graph graph = EdgeListReader.readGraph(file.toString(), chunkBytes);
+                assertEquals(expected.getVertices(), graph.getVertices());
+                assertEquals(expected.getEdgeCount(), graph.getEdgeCount());
+                for (int i = 0; i < expected.getEdgeCount(); i++) {
+                    Edge want = expected.getEdges().get(i);
+                    Edge got = graph.getEdges().get(i);
+                    assertEquals(want.getFrom(), got.getFrom());
+                    assertEquals(want.getTo(), got.getTo());
+                    assertEquals(want.getWeight(), got.getWeight());
+                }
+            }
+
+            Files.writeString(file, "a b 3\nb c 99999999999\n");
+            IOException error = null;
+            try {
+                EdgeListReader.readGraph(file.toString(), 4);
+            } catch (IOException e) {
+                error = e;
+            }
+            assertNotNull(error);
+            assertTrue(error.getMessage().contains("Malformed edge weight: 99999999999"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Path maximum index handles a single-vertex tree")
+    public void testPathMaxIndexSingleVertex() {
+        Graph graph = new Graph();
+        graph.addVertex("C");
+        MSTResult result = new KruskalAlgorithm().findMST(graph);
+        assertTrue(graph.isConnected());
+        assertEquals(0, result.getMstEdges().size());
+
+        PathMaxIndex index = new PathMaxIndex(result, graph.getVertices());
+        assertEquals(0, index.pathMax("C", "C"));
+        assertEquals(null, index.maxEdge("C", "C"));
+        assertFalse(index.improvesTree("C", "C", -5));
+    }
+
+    @Test
+    @DisplayName("A flight recording captures every phase event with its fields")
+    public void testPhaseEvents() throws Exception {
+        String input = "{\"graphs\": [{\"id\": 7, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+                + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}, {\"from\": \"B\", \"to\": \"C\", \"weight\": 2}]}]}";
+        Path file = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String phase : new String[]{"Parse", "Connectivity", "Solve", "Write"}) {
+                recording.enable("com.mst." + phase).withoutThreshold();
+            }
+            recording.start();
+
+            List<JSONParser.GraphData> graphs = JSONParser.parseInput(input);
+            GraphSolver solver = new GraphSolver(GraphSolver.Mode.VERIFY, new AlgorithmPlanner());
+            List<JSONWriter.ResultData> results = new ArrayList<>();
+            results.add(solver.solve(graphs.get(0), null));
+            JSONWriter.writeResults(new StringWriter(), results);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, List<RecordedEvent>> events = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            events.computeIfAbsent(event.getEventType().getName(), k -> new ArrayList<>()).add(event);
+        }
+        Files.delete(file);
+
+        RecordedEvent parse = events.get("com.mst.Parse").get(0);
+        assertEquals("request", parse.getString("source"));
+        assertEquals(1, parse.getInt("graphs"));
+        assertEquals(3, parse.getLong("vertices"));
+        assertEquals(2, parse.getLong("edges"));
+
+        RecordedEvent connectivity = events.get("com.mst.Connectivity").get(0);
+        assertEquals(7, connectivity.getInt("graphId"));
+        assertEquals(3, connectivity.getInt("vertices"));
+        assertEquals(2, connectivity.getInt("edges"));
+        assertTrue(connectivity.getBoolean("connected"));
+
+        Set<String> engines = new HashSet<>();
+        for (RecordedEvent solve : events.get("com.mst.Solve")) {
+            assertEquals(7, solve.getInt("graphId"));
+            assertEquals(2, solve.getInt("edges"));
+            assertTrue(solve.getInt("operations") > 0, "Solve events carry the engine's operation count");
+            engines.add(solve.getString("engine"));
+        }
+        assertEquals(new HashSet<>(Arrays.asList("prim", "kruskal")), engines);
+
+        RecordedEvent write = events.get("com.mst.Write").get(0);
+        assertEquals("stream", write.getString("destination"));
+        assertEquals(1, write.getInt("results"));
+    }
+
+    @Test
+    @DisplayName("Pipeline writes the connected graphs of a batch in input order")
+    public void testSolvePipelineOrder() throws Exception {
+        StringBuilder input = new StringBuilder("{\"graphs\": [");
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(37);
+        for (int id = 1; id <= 24; id++) {
+            // Every third graph leaves its last vertex isolated
+            boolean connected = id % 3 != 0;
+            int n = 2 + random.nextInt(60);
+            input.append(id > 1 ? "," : "").append("{\"id\": ").append(id).append(", \"nodes\": [");
+            for (int v = 0; v < n; v++) {
+                input.append(v > 0 ? "," : "").append("\"V").append(v).append('"');
+            }
+            input.append("], \"edges\": [");
+            int last = connected ? n : n - 1;
+            for (int v = 1; v < last; v++) {
+                input.append(v > 1 ? "," : "").append("{\"from\": \"V").append(random.nextInt(v))
+                        .append("\", \"to\": \"V").append(v)
+                        .append("\", \"weight\": ").append(1 + random.nextInt(100)).append('}');
+            }
+            input.append("]}");
+            if (connected) {
+                expected.add(id);
+            }
+        }
+        input.append("]}");
+
+        Path inputFile = Files.createTempFile("pipeline", ".json");
+        Path outputFile = Files.createTempFile("pipeline-out", ".json");
+        try {
+            Files.write(inputFile, input.toString().getBytes(StandardCharsets.UTF_8));
+            SolvePipeline pipeline = new SolvePipeline(
+                    new GraphSolver(GraphSolver.Mode.VERIFY, new AlgorithmPlanner()), 4, 2);
+            int written = pipeline.run(inputFile.toString(), outputFile.toString());
+
+            List<Integer> ids = new ArrayList<>();
+            Matcher matcher = Pattern.compile("\"graph_id\": (\\d+)")
+                    .matcher(new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                ids.add(Integer.parseInt(matcher.group(1)));
+            }
+            assertEquals(expected.size(), written);
+            assertEquals(expected, ids);
+        } finally {
+            Files.delete(inputFile);
+            Files.delete(outputFile);
+        }
+    }
+
+    @Test
+    @DisplayName("Pipeline fails instead of hanging when a stage throws")
+    public void testSolvePipelineFailure() throws Exception {
+        GraphSolver failing = new GraphSolver(GraphSolver.Mode.VERIFY, new AlgorithmPlanner()) {
+            @Override
+            public JSONWriter.ResultData solve(JSONParser.GraphData graphData, PrintStream log) {
+                if (graphData.getId() == 3) {
+                    throw new IllegalStateException("solver failed on graph 3");
+                }
+                return super.solve(graphData, log);
+            }
+        };
+
+        StringBuilder input = new StringBuilder("{\"graphs\": [");
+        for (int id = 1; id <= 20; id++) {
+            input.append(id > 1 ? "," : "").append("{\"id\": ").append(id)
+                    .append(", \"nodes\": [\"A\", \"B\"], ")
+                    .append("\"edges\": [{\"from\": \"A\", \"to\": \"B\", \"weight\": 1}]}");
+        }
+        input.append("]}");
+
+        Path inputFile = Files.createTempFile("pipeline", ".json");
+        Path outputFile = Files.createTempFile("pipeline-out", ".json");
+        try {
+            Files.write(inputFile, input.toString().getBytes(StandardCharsets.UTF_8));
+            SolvePipeline pipeline = new SolvePipeline(failing, 3, 1);
+            FutureTask<Integer> run = new FutureTask<>(
+                    () -> pipeline.run(inputFile.toString(), outputFile.toString()));
+            new Thread(run).start();
+
+            try {
+                run.get(30, TimeUnit.SECONDS);
+                fail("A failing stage must fail the run");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+                assertEquals("solver failed on graph 3", e.getCause().getMessage());
+            }
+        } finally {
+            Files.delete(inputFile);
+            Files.delete(outputFile);
+        }
+    }
+
+    @Test
+    @DisplayName("Worker rejects graphs above its limits before allocating them")
+    public void testWorkerLimits() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            BoruvkaWorker worker = new BoruvkaWorker(socket, 100, 100);
+            FutureTask<Void> serve = new FutureTask<>(() -> {
+                worker.serve(true);
+                return null;
+            });
+            new Thread(serve).start();
+
+            try (Socket client = new Socket(InetAddress.getLoopbackAddress(), worker.getPort())) {
+                DataOutputStream out = new DataOutputStream(client.getOutputStream());
+                // A graph message announcing far more vertices and edges than the limits allow
+                out.writeByte(1);
+                out.writeInt(2_000_000_000);
+                out.writeInt(2_000_000_000);
+                out.flush();
+
+                try {
+                    serve.get(30, TimeUnit.SECONDS);
+                    fail("An oversized graph must be rejected");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IOException);
+                    assertEquals("Vertex count 2000000000 is outside 0..100", e.getCause().getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Sensitivity with dedup covers the parallel edges the reduction dropped")
+    public void testSensitivityWithDedup() {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("A", "B", 5);
+        graph.addEdge("B", "C", 1);
+        graph.addEdge("A", "C", 9);
+
+        GraphSolver solver = new GraphSolver(GraphSolver.Mode.VERIFY, new AlgorithmPlanner());
+        solver.setDedup(true);
+        solver.setSensitivity(true);
+        JSONWriter.ResultData data = solver.solve(new JSONParser.GraphData(1, graph), null);
+        SensitivityAnalyzer.Report report = data.getSensitivity();
+
+        assertEquals(4, report.getEdgeCount());
+        Map<Integer, Integer> boundByWeight = new HashMap<>();
+        for (int i = 0; i < report.getEdgeCount(); i++) {
+            boundByWeight.put(report.getEdge(i).getWeight(), report.hasBound(i) ? report.getBound(i) : null);
+        }
+        // The dropped A-B 5 edge is what A-B 2 may rise to, not the A-C 9 detour
+        assertEquals(5, (int) boundByWeight.get(2));
+        assertEquals(2, (int) boundByWeight.get(5));
+        assertEquals(2, (int) boundByWeight.get(9));
+        assertEquals(9, (int) boundByWeight.get(1));
+        assertEquals(2, data.getAlgorithmResults().get("kruskal").getEdgeCount());
+    }
+
+    @Test
+    @DisplayName("Worker survives a malformed session and serves the next one")
+    public void testWorkerSurvivesBadSession() throws Exception {
+        Graph graph = new Graph();
+        graph.addEdge("A", "B", 3);
+        graph.addEdge("B", "C", 1);
+        graph.addEdge("A", "C", 2);
+
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            BoruvkaWorker worker = new BoruvkaWorker(socket, 100, 100);
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.serve(false);
+                } catch (IOException e) {
+                    // Closing the server socket ends the loop
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+
+            // An unknown message type, then a graph message cut off mid-way
+            for (byte[] garbage : new byte[][]{{42}, {1, 0, 0}}) {
+                try (Socket client = new Socket(InetAddress.getLoopbackAddress(), worker.getPort())) {
+                    client.getOutputStream().write(garbage);
+                    client.getOutputStream().flush();
+                }
+            }
+
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), worker.getPort());
+            try (BoruvkaCoordinator coordinator = BoruvkaCoordinator.connect(List.of(address))) {
+                MSTResult result = coordinator.findMST(graph, new ArrayList<>());
+                assertEquals(3, result.getTotalCost());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Point-set parsing checks names and coordinates")
+    public void testPointSetParsing() {
+        List<JSONParser.GraphData> named = JSONParser.parseInput(
+                "{\"graphs\": [{\"id\": 1, \"nodes\": [\"X\", \"Y\"], \"points\": [[0, 0], [3, 4]]}]}");
+        assertTrue(named.get(0).isPointSet());
+        assertEquals("Y", named.get(0).getPoints().getName(1));
+
+        List<JSONParser.GraphData> unnamed = JSONParser.parseInput(
+                "{\"graphs\": [{\"id\": 1, \"points\": [[0, 0], [3, 4]]}]}");
+        assertEquals("P1", unnamed.get(0).getPoints().getName(1));
+
+        // Too few names, and coordinates that are not finite, reject the graph
+        assertEquals(0, JSONParser.parseInput(
+                "{\"graphs\": [{\"id\": 1, \"nodes\": [\"X\"], \"points\": [[0, 0], [3, 4]]}]}").size());
+        assertEquals(0, JSONParser.parseInput(
+                "{\"graphs\": [{\"id\": 1, \"points\": [[0, 0], [NaN, 4]]}]}").size());
+        assertEquals(0, JSONParser.parseInput(
+                "{\"graphs\": [{\"id\": 1, \"points\": [[Infinity, 0], [3, 4]]}]}").size());
+
+        // A vertex called "points" is just a name in an edge list
+        List<JSONParser.GraphData> edgeList = JSONParser.parseInput("{\"graphs\": [{\"id\": 2, "
+                + "\"nodes\": [\"points\", \"B\"], \"edges\": [{\"from\": \"points\", \"to\": \"B\", \"weight\": 3}]}]}");
+        assertFalse(edgeList.get(0).isPointSet());
+        assertEquals(1, edgeList.get(0).getGraph().getEdgeCount());
+    }
+
+    @Test
+    @DisplayName("Integer weights beyond long range fall back to double")
+    public void testWeightTypeBeyondLong() {
+        String edge = "{\"from\": \"A\", \"to\": \"B\", \"weight\": %s}";
+        JSONParser.GraphData longGraph = JSONParser.parseInput("{\"graphs\": [{\"id\": 1, "
+                + "\"nodes\": [\"A\", \"B\"], \"edges\": [" + String.format(edge, "9223372036854775807")
+                + "]}]}").get(0);
+        assertEquals(JSONParser.GraphData.WeightType.LONG, longGraph.getWeightType());
+
+        // 2^63 is one past Long.MAX_VALUE
+        List<JSONParser.GraphData> graphs = JSONParser.parseInput("{\"graphs\": [{\"id\": 2, "
+                + "\"nodes\": [\"A\", \"B\", \"C\"], \"edges\": [" + String.format(edge, "9223372036854775808")
+                + ", {\"from\": \"B\", \"to\": \"C\", \"weight\": 1}]}]}");
+        assertEquals(1, graphs.size());
+        assertEquals(JSONParser.GraphData.WeightType.DOUBLE, graphs.get(0).getWeightType());
+        DoubleMSTResult result = new DoubleKruskalAlgorithm().findMST(graphs.get(0).getDoubleGraph());
+        assertEquals(0x1p63 + 1, result.getTotalCost(), 0.0);
+    }
+
     // Helper method to check if graph is acyclic
     private boolean isAcyclic(Graph graph) {
         Set<String> visited = new HashSet<>();